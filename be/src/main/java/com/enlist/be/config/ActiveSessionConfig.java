@@ -0,0 +1,19 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "session.active")
+@Data
+public class ActiveSessionConfig {
+    private String journalKey = "session:journal";
+    private long maxJournalLength = 100000;
+    private long flushIntervalMs = 30000;
+    /** Lease that keeps flushing on one node at a time; must outlast one flush. */
+    private Duration flushLease = Duration.ofMinutes(5);
+    private Duration idleTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,16 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "admin")
+@Data
+public class AdminConfig {
+    /** Usernames granted ROLE_ADMIN, which guards the /api/admin endpoints. */
+    private List<String> usernames = new ArrayList<>();
+}
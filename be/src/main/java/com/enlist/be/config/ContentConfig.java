@@ -0,0 +1,15 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "content")
+@Data
+public class ContentConfig {
+    private String externalDir;
+    private Duration watchDebounce = Duration.ofSeconds(2);
+}
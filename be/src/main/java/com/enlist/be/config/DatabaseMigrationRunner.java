@@ -0,0 +1,499 @@
+package com.enlist.be.config;
+
+import com.enlist.be.converter.StringListConverter;
+import com.enlist.be.dto.FeedbackPayload;
+import com.enlist.be.entity.ErrorAnalytics;
+import com.enlist.be.service.FeedbackBlobService;
+import com.enlist.be.util.VietnameseSentenceSegmenter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Idempotent schema changes that {@code ddl-auto: update} cannot express, such as unique
+ * indexes over data that may need cleaning first. Each migration runs in its own transaction,
+ * after Hibernate has created the tables. Nodes starting together take turns through a
+ * Postgres advisory lock, and a failed migration aborts startup rather than leaving the
+ * application running against a half-migrated schema.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseMigrationRunner implements CommandLineRunner {
+
+    private static final int BLOB_BATCH_SIZE = 500;
+    /** Advisory lock key held for the whole run; any constant unique to this application. */
+    private static final long MIGRATION_LOCK_KEY = 0x656e6c6973740001L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(String... args) {
+        // Session-level lock on a connection held for the run; migrations use their own connections
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + MIGRATION_LOCK_KEY + ")");
+            }
+            try {
+                runMigrations();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT pg_advisory_unlock(" + MIGRATION_LOCK_KEY + ")");
+                }
+            }
+            return null;
+        });
+    }
+
+    private void runMigrations() {
+        migrateErrorAnalyticsCounters();
+        migrateFeedbackColumns();
+        migrateOutbox();
+        migrateSessionListing();
+        migrateParagraphStatusIndex();
+        migrateParagraphSearch();
+        migrateKeysetIndexes();
+        migrateContentSync();
+        migrateRandomSessionCounters();
+        migrateRandomSessionAccuracy();
+        migrateSessionVersion();
+    }
+
+    private void migrateErrorAnalyticsCounters() {
+        if (!indexExists("uk_error_analytics_user_type_category")) {
+            migrate("unique error_analytics counters",
+                    // Fold rows duplicated by the old find-then-save race into the oldest one
+                    """
+                    WITH totals AS (
+                        SELECT MIN(id) AS keep_id, SUM(count) AS total, MAX(last_occurrence) AS latest
+                        FROM error_analytics
+                        GROUP BY user_id, error_type, error_category
+                        HAVING COUNT(*) > 1
+                    )
+                    UPDATE error_analytics e
+                    SET count = t.total, last_occurrence = t.latest
+                    FROM totals t
+                    WHERE e.id = t.keep_id
+                    """,
+                    """
+                    DELETE FROM error_analytics e
+                    USING error_analytics k
+                    WHERE e.user_id = k.user_id
+                      AND e.error_type = k.error_type
+                      AND e.error_category = k.error_category
+                      AND e.id > k.id
+                    """,
+                    """
+                    CREATE UNIQUE INDEX IF NOT EXISTS uk_error_analytics_user_type_category
+                    ON error_analytics (user_id, error_type, error_category)
+                    """);
+        }
+    }
+
+    private void migrateFeedbackColumns() {
+        if ("text".equals(columnType("session_summaries", "errors_json"))) {
+            migrate("jsonb session_summaries.errors_json",
+                    "ALTER TABLE session_summaries ALTER COLUMN errors_json TYPE jsonb USING errors_json::jsonb");
+        }
+
+        String feedbackType = columnType("sentence_submissions", "feedback_json");
+        boolean feedbackIsJson = "text".equals(feedbackType) || "jsonb".equals(feedbackType);
+
+        if (feedbackIsJson && hasRows("SELECT 1 FROM sentence_submissions WHERE error_count IS NULL LIMIT 1")) {
+            migrate("backfill submission error counts",
+                    // Same precedence as ErrorAnalytics.ErrorType.classify: grammar, then word choice, then naturalness
+                    """
+                    WITH counts AS (
+                        SELECT s.id,
+                               COUNT(e.type) AS total,
+                               COUNT(*) FILTER (WHERE e.type ~ '(grammar|tense|article|preposition)') AS grammar,
+                               COUNT(*) FILTER (WHERE e.type !~ '(grammar|tense|article|preposition)'
+                                                  AND e.type ~ '(word|vocabulary)') AS word_choice,
+                               COUNT(*) FILTER (WHERE e.type !~ '(grammar|tense|article|preposition|word|vocabulary)'
+                                                  AND e.type ~ '(natural|flow)') AS naturalness
+                        FROM sentence_submissions s
+                        LEFT JOIN LATERAL (
+                            SELECT lower(err ->> 'type') AS type
+                            FROM jsonb_array_elements(
+                                CASE WHEN jsonb_typeof(s.feedback_json::jsonb -> 'errors') = 'array'
+                                     THEN s.feedback_json::jsonb -> 'errors' ELSE '[]'::jsonb END) err
+                        ) e ON true
+                        WHERE s.error_count IS NULL
+                        GROUP BY s.id
+                    )
+                    UPDATE sentence_submissions s
+                    SET error_count = c.total,
+                        grammar_error_count = c.grammar,
+                        word_choice_error_count = c.word_choice,
+                        naturalness_error_count = c.naturalness
+                    FROM counts c
+                    WHERE s.id = c.id
+                    """);
+        }
+
+        if (feedbackIsJson) {
+            // Legacy JSON is kept as UTF-8 bytes until it is moved into feedback_blobs. The GIN index
+            // over feedback errors is dropped on purpose: queries by error type now use the
+            // per-submission count columns and idx_sentence_submissions_session_errors instead, and
+            // feedback itself is opaque Smile that Postgres cannot index
+            migrate("bytea sentence_submissions.feedback_json",
+                    "DROP INDEX IF EXISTS idx_sentence_submissions_feedback_errors",
+                    "ALTER TABLE sentence_submissions "
+                            + "ALTER COLUMN feedback_json TYPE bytea USING convert_to(feedback_json::text, 'UTF8')");
+        }
+
+        backfillRemainingErrorCounts();
+
+        migrate("error analytics indexes",
+                "CREATE INDEX IF NOT EXISTS idx_paragraph_sessions_user_id_id ON paragraph_sessions (user_id, id)",
+                "DROP INDEX IF EXISTS idx_paragraph_sessions_user_id",
+                """
+                CREATE INDEX IF NOT EXISTS idx_sentence_submissions_session_errors
+                ON sentence_submissions (session_id, submitted_at)
+                INCLUDE (error_count, grammar_error_count, word_choice_error_count, naturalness_error_count)
+                """);
+
+        moveInlineFeedbackToBlobs();
+    }
+
+    private void migrateParagraphStatusIndex() {
+        // Serves catalog completion statuses and the resumable-session lookup in createSession
+        migrate("paragraph status index",
+                """
+                CREATE INDEX IF NOT EXISTS idx_paragraph_sessions_user_paragraph
+                ON paragraph_sessions (user_id, paragraph_id, id)
+                """);
+    }
+
+    /**
+     * Paragraph search runs against a stored tsvector. The text search configuration folds
+     * diacritics, so "pho" matches "phở"; ParagraphRepository.searchWithFilters depends on it.
+     */
+    private void migrateParagraphSearch() {
+        migrate("paragraph search configuration",
+                "CREATE EXTENSION IF NOT EXISTS unaccent",
+                """
+                DO $$
+                BEGIN
+                    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'enlist_search') THEN
+                        CREATE TEXT SEARCH CONFIGURATION enlist_search (COPY = simple);
+                        ALTER TEXT SEARCH CONFIGURATION enlist_search
+                            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, simple;
+                    END IF;
+                END
+                $$
+                """);
+
+        if (columnType("paragraphs", "search_vector") == null) {
+            migrate("paragraphs.search_vector",
+                    """
+                    ALTER TABLE paragraphs ADD COLUMN search_vector tsvector
+                    GENERATED ALWAYS AS (
+                        setweight(to_tsvector('enlist_search', coalesce(title, '')), 'A')
+                        || setweight(to_tsvector('enlist_search', coalesce(content, '')), 'B')
+                    ) STORED
+                    """);
+        }
+
+        migrate("paragraph search index",
+                "CREATE INDEX IF NOT EXISTS idx_paragraphs_search_vector ON paragraphs USING gin (search_vector)");
+    }
+
+    private void migrateRandomSessionAccuracy() {
+        if (hasRows("SELECT 1 FROM random_sessions WHERE accuracy_sum IS NULL OR accuracy_count IS NULL LIMIT 1")) {
+            migrate("backfill random session accuracy aggregates",
+                    """
+                    UPDATE random_sessions rs
+                    SET accuracy_sum = COALESCE(a.accuracy_sum, 0),
+                        accuracy_count = COALESCE(a.accuracy_count, 0)
+                    FROM random_sessions r
+                    LEFT JOIN (
+                        SELECT random_session_id, SUM(accuracy) AS accuracy_sum, COUNT(accuracy) AS accuracy_count
+                        FROM random_session_paragraphs
+                        WHERE status = 'COMPLETED'
+                        GROUP BY random_session_id
+                    ) a ON a.random_session_id = r.id
+                    WHERE rs.id = r.id AND (rs.accuracy_sum IS NULL OR rs.accuracy_count IS NULL)
+                    """);
+        }
+    }
+
+    /**
+     * Sessions are versioned by state_revision alone; the JPA version column is no longer mapped.
+     */
+    private void migrateSessionVersion() {
+        if (columnType("paragraph_sessions", "version") != null) {
+            migrate("drop paragraph_sessions.version",
+                    "ALTER TABLE paragraph_sessions DROP COLUMN IF EXISTS version");
+        }
+    }
+
+    private void migrateRandomSessionCounters() {
+        if (hasRows("SELECT 1 FROM random_sessions WHERE next_order_index IS NULL LIMIT 1")) {
+            migrate("backfill random_sessions.next_order_index",
+                    """
+                    UPDATE random_sessions rs
+                    SET next_order_index = COALESCE(
+                        (SELECT MAX(p.order_index) + 1 FROM random_session_paragraphs p
+                         WHERE p.random_session_id = rs.id), 0)
+                    WHERE rs.next_order_index IS NULL
+                    """);
+        }
+    }
+
+    private void migrateContentSync() {
+        // ContentSyncService upserts on this index
+        migrate("paragraph source path index",
+                "CREATE UNIQUE INDEX IF NOT EXISTS idx_paragraphs_source_path ON paragraphs (source_path)");
+    }
+
+    private void migrateKeysetIndexes() {
+        migrate("keyset pagination indexes",
+                "CREATE INDEX IF NOT EXISTS idx_dictionary_words_user_created "
+                        + "ON dictionary_words (user_id, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_random_sessions_user_created "
+                        + "ON random_sessions (user_id, created_at, id)");
+    }
+
+    private void migrateOutbox() {
+        migrate("outbox polling index",
+                """
+                CREATE INDEX IF NOT EXISTS idx_outbox_events_pending
+                ON outbox_events (next_attempt_at, id) WHERE status = 'PENDING'
+                """);
+        // Hibernate only writes the enum check constraint when it creates the table, so it would
+        // reject event types added since
+        migrate("drop outbox event type check",
+                "ALTER TABLE outbox_events DROP CONSTRAINT IF EXISTS outbox_events_event_type_check");
+    }
+
+    /**
+     * Listings read sentence counts and session aggregates straight from their columns, so rows
+     * written before those columns existed are filled in here rather than lazily by the entities.
+     */
+    private void migrateSessionListing() {
+        if (hasRows("SELECT 1 FROM paragraph_sessions WHERE accuracy_sum IS NULL OR scored_count IS NULL "
+                + "OR completed_sentence_count IS NULL LIMIT 1")) {
+            migrate("backfill session aggregates",
+                    """
+                    UPDATE paragraph_sessions s
+                    SET accuracy_sum = COALESCE(a.accuracy_sum, 0),
+                        scored_count = COALESCE(a.scored_count, 0),
+                        completed_sentence_count = COALESCE(a.completed_count, 0)
+                    FROM paragraph_sessions t
+                    LEFT JOIN (
+                        SELECT session_id,
+                               SUM(COALESCE(accuracy, 0)) AS accuracy_sum,
+                               COUNT(*) AS scored_count,
+                               COUNT(DISTINCT sentence_index) AS completed_count
+                        FROM sentence_submissions
+                        GROUP BY session_id
+                    ) a ON a.session_id = t.id
+                    WHERE s.id = t.id
+                      AND (s.accuracy_sum IS NULL OR s.scored_count IS NULL OR s.completed_sentence_count IS NULL)
+                    """);
+        }
+
+        if (hasRows("SELECT 1 FROM paragraph_sessions WHERE completed_sentences IS NULL LIMIT 1")) {
+            // Same layout as BitSet.toByteArray(): bit (i % 8) of byte (i / 8) marks sentence i,
+            // with no trailing zero bytes
+            migrate("backfill completed sentence bitmaps",
+                    """
+                    UPDATE paragraph_sessions s
+                    SET completed_sentences = COALESCE(b.bitmap, ''::bytea)
+                    FROM paragraph_sessions t
+                    LEFT JOIN (
+                        SELECT m.session_id,
+                               string_agg(set_byte(decode('00', 'hex'), 0, COALESCE(v.bits, 0)), ''::bytea
+                                          ORDER BY p.pos) AS bitmap
+                        FROM (SELECT session_id, MAX(sentence_index) AS max_index
+                              FROM sentence_submissions GROUP BY session_id) m
+                        CROSS JOIN LATERAL generate_series(0, m.max_index / 8) AS p(pos)
+                        LEFT JOIN (
+                            SELECT session_id, sentence_index / 8 AS pos,
+                                   SUM(DISTINCT 1 << (sentence_index % 8))::int AS bits
+                            FROM sentence_submissions
+                            GROUP BY session_id, sentence_index / 8
+                        ) v ON v.session_id = m.session_id AND v.pos = p.pos
+                        GROUP BY m.session_id
+                    ) b ON b.session_id = t.id
+                    WHERE s.id = t.id AND s.completed_sentences IS NULL
+                    """);
+        }
+
+        segmentParagraphs();
+    }
+
+    /**
+     * Paragraphs that already have sessions keep the legacy regex split, since their sentence
+     * indexes and bitmaps were built on it; only unreferenced paragraphs get the new segmenter.
+     */
+    void segmentParagraphs() {
+        List<Map<String, Object>> unsegmented = jdbcTemplate.queryForList("""
+                SELECT p.id, p.content,
+                       EXISTS (SELECT 1 FROM paragraph_sessions s WHERE s.paragraph_id = p.id) AS referenced
+                FROM paragraphs p
+                WHERE p.sentence_count IS NULL
+                """);
+        if (unsegmented.isEmpty()) {
+            return;
+        }
+        StringListConverter converter = new StringListConverter();
+        List<Object[]> updates = new ArrayList<>();
+        for (Map<String, Object> row : unsegmented) {
+            String content = (String) row.get("content");
+            List<String> sentences = Boolean.TRUE.equals(row.get("referenced"))
+                    ? VietnameseSentenceSegmenter.legacySplit(content)
+                    : VietnameseSentenceSegmenter.segment(content);
+            String json = converter.convertToDatabaseColumn(sentences);
+            updates.add(new Object[]{json, sentences.size(), row.get("id")});
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "UPDATE paragraphs SET sentences = ?, sentence_count = ? WHERE id = ?", updates));
+        log.info("Segmented {} paragraphs", updates.size());
+    }
+
+    /**
+     * Count errors in Java for submissions the SQL backfill could not reach, i.e. rows whose
+     * feedback was already bytea or in feedback_blobs when the count columns were added. The
+     * error trend sums these columns, so a null count would drop the row from history.
+     */
+    private void backfillRemainingErrorCounts() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        int counted = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT s.id, COALESCE(s.feedback_json, b.payload) AS payload FROM sentence_submissions s "
+                            + "LEFT JOIN feedback_blobs b ON b.hash = s.feedback_hash "
+                            + "WHERE s.id > ? AND s.error_count IS NULL ORDER BY s.id LIMIT ?",
+                    lastId, BLOB_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastId = id;
+                byte[] payload = (byte[]) row.get("payload");
+                ErrorAnalytics.ErrorTally tally;
+                try {
+                    tally = ErrorAnalytics.ErrorTally.of(payload != null
+                            ? FeedbackPayload.fromBytes(payload).getErrors() : null);
+                } catch (RuntimeException e) {
+                    log.warn("Counting no errors for unreadable feedback on submission {}: {}", id, e.getMessage());
+                    tally = ErrorAnalytics.ErrorTally.of(null);
+                }
+                updates.add(new Object[]{tally.total(), tally.grammar(), tally.wordChoice(), tally.naturalness(), id});
+            }
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE sentence_submissions SET error_count = ?, grammar_error_count = ?, "
+                            + "word_choice_error_count = ?, naturalness_error_count = ? WHERE id = ?", updates));
+            counted += updates.size();
+        }
+        if (counted > 0) {
+            log.info("Backfilled error counts of {} submissions", counted);
+        }
+    }
+
+    /**
+     * Move inline feedback into feedback_blobs, in id order and one transaction per batch. Legacy
+     * JSON is re-encoded first so it deduplicates against payloads written by the current code.
+     * Runs before startup completes, under the migration lock, so exactly one node moves each row.
+     */
+    private void moveInlineFeedbackToBlobs() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        int moved = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, feedback_json FROM sentence_submissions "
+                            + "WHERE id > ? AND feedback_json IS NOT NULL AND feedback_hash IS NULL "
+                            + "ORDER BY id LIMIT ?",
+                    lastId, BLOB_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            Map<String, byte[]> blobs = new LinkedHashMap<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastId = id;
+                try {
+                    FeedbackPayload payload = FeedbackPayload.fromBytes((byte[]) row.get("feedback_json"));
+                    byte[] bytes = payload.reencode().toBytes();
+                    String hash = FeedbackBlobService.hash(bytes);
+                    blobs.putIfAbsent(hash, bytes);
+                    updates.add(new Object[]{hash, id});
+                } catch (RuntimeException e) {
+                    log.warn("Skipping unreadable feedback on submission {}: {}", id, e.getMessage());
+                }
+            }
+
+            List<Object[]> inserts = blobs.entrySet().stream()
+                    .map(blob -> new Object[]{blob.getKey(), blob.getValue()})
+                    .toList();
+            transaction.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("INSERT INTO feedback_blobs (hash, payload, created_at) "
+                        + "VALUES (?, ?, LOCALTIMESTAMP) ON CONFLICT (hash) DO NOTHING", inserts);
+                jdbcTemplate.batchUpdate("UPDATE sentence_submissions "
+                        + "SET feedback_hash = ?, feedback_json = NULL WHERE id = ?", updates);
+            });
+            moved += updates.size();
+        }
+        if (moved > 0) {
+            log.info("Moved {} inline feedback payloads to feedback_blobs", moved);
+        }
+    }
+
+    private String columnType(String table, String column) {
+        List<String> types = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                String.class, table, column);
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    private boolean hasRows(String sql) {
+        return !jdbcTemplate.queryForList(sql).isEmpty();
+    }
+
+    private boolean indexExists(String indexName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE indexname = ?", Integer.class, indexName);
+        return count != null && count > 0;
+    }
+
+    private void migrate(String description, String... statements) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> {
+                for (String sql : statements) {
+                    jdbcTemplate.execute(sql);
+                }
+            });
+            log.info("Applied schema migration: {}", description);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Schema migration '" + description + "' failed", e);
+        }
+    }
+}
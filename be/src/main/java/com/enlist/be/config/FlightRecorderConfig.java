@@ -0,0 +1,20 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "profiling.jfr")
+@Data
+public class FlightRecorderConfig {
+    private boolean startOnBoot = false;
+    private String settings = "default";
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    /** Absolute directory that dumps are written to; dumping is disabled while unset. */
+    private String dumpDirectory;
+}
@@ -0,0 +1,16 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+@Data
+public class IdempotencyConfig {
+    private Duration responseTtl = Duration.ofHours(24);
+    private Duration inFlightTtl = Duration.ofMinutes(2);
+    private Duration waitTimeout = Duration.ofSeconds(30);
+}
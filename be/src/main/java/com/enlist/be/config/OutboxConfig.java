@@ -0,0 +1,20 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxConfig {
+    private int batchSize = 100;
+    private long pollIntervalMs = 1000;
+    private Duration lease = Duration.ofMinutes(2);
+    private int maxAttempts = 8;
+    private Duration initialBackoff = Duration.ofSeconds(5);
+    private Duration maxBackoff = Duration.ofMinutes(30);
+    private Duration retention = Duration.ofDays(7);
+}
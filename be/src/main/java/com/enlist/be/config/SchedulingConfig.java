@@ -0,0 +1,13 @@
+package com.enlist.be.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs. The scheduler pool is sized by {@code spring.task.scheduling.pool.size},
+ * so a slow job does not hold up the others; long-running work is handed to dedicated executors.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
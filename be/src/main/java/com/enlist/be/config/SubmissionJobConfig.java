@@ -0,0 +1,23 @@
+package com.enlist.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "submission.jobs")
+@Data
+public class SubmissionJobConfig {
+    private String streamKey = "submission:jobs";
+    private String consumerGroup = "submission-workers";
+    private int workerThreads = 4;
+    private long maxStreamLength = 10000;
+    private Duration resultTtl = Duration.ofHours(1);
+    private Duration claimIdleTimeout = Duration.ofMinutes(5);
+    private long claimIntervalMs = 30000;
+    /** Lease that keeps reclaiming on one node at a time; must outlast one reclaim pass. */
+    private Duration claimLease = Duration.ofMinutes(2);
+    private Duration sseTimeout = Duration.ofMinutes(3);
+}
@@ -0,0 +1,32 @@
+package com.enlist.be.config;
+
+import com.enlist.be.profiling.FileSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@EnableAsync
+public class TracingConfig {
+
+    /**
+     * Carries the current trace context into @Async work such as paragraph prefetching.
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tracing.file-sink", name = "path")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.file-sink.path}") String path) throws IOException {
+        return new FileSpanExporter(Paths.get(path));
+    }
+}
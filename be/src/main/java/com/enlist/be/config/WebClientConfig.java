@@ -8,7 +8,8 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(WebClient.Builder builder) {
+        // Use the auto-configured builder so outgoing calls are observed and carry trace headers
+        return builder.build();
     }
 }
@@ -1,5 +1,6 @@
 package com.enlist.be.controller;
 
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.DictionaryWordRequest;
 import com.enlist.be.dto.DictionaryWordResponse;
 import com.enlist.be.service.DictionaryService;
@@ -31,6 +32,15 @@ public class DictionaryController {
         return ResponseEntity.ok(dictionaryService.getUserDictionary(userId));
     }
 
+    @GetMapping("/user/page")
+    public ResponseEntity<CursorPageResponse<DictionaryWordResponse>> getUserDictionaryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(dictionaryService.getUserDictionaryPage(userId, cursor, size, includeTotal));
+    }
+
     @GetMapping("/session/{sessionId}")
     public ResponseEntity<List<DictionaryWordResponse>> getSessionDictionary(@PathVariable Long sessionId) {
         Long userId = SecurityUtils.getCurrentUserId();
@@ -0,0 +1,48 @@
+package com.enlist.be.controller;
+
+import com.enlist.be.service.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/flight-recorder")
+@RequiredArgsConstructor
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @GetMapping
+    public ResponseEntity<FlightRecorderService.RecordingStatus> getStatus() {
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<FlightRecorderService.RecordingStatus> startRecording() {
+        return ResponseEntity.ok(flightRecorderService.start());
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<FlightRecorderService.RecordingStatus> stopRecording() {
+        return ResponseEntity.ok(flightRecorderService.stop());
+    }
+
+    @PostMapping("/dump")
+    public ResponseEntity<Resource> dumpRecording() {
+        Path file = flightRecorderService.dump();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString())
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(file));
+    }
+}
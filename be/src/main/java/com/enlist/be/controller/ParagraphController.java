@@ -1,7 +1,9 @@
 package com.enlist.be.controller;
 
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.PaginatedResponse;
 import com.enlist.be.dto.ParagraphCreateRequest;
+import com.enlist.be.dto.ParagraphFacetsResponse;
 import com.enlist.be.dto.ParagraphResponse;
 import com.enlist.be.dto.PreviousAttemptResponse;
 import com.enlist.be.service.ParagraphService;
@@ -39,11 +41,35 @@ public class ParagraphController {
                 difficulty, topic, search, page, pageSize, sortBy, sortOrder, userId));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageResponse<ParagraphResponse>> getParagraphsPage(
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String topic,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Long userId = null;
+        try {
+            userId = SecurityUtils.getCurrentUserId();
+        } catch (IllegalStateException e) {
+            // User not authenticated, userId will remain null
+        }
+        return ResponseEntity.ok(paragraphService.getParagraphsPage(
+                difficulty, topic, sortBy, sortOrder, cursor, size, includeTotal, userId));
+    }
+
     @GetMapping("/topics")
     public ResponseEntity<List<String>> getAllTopics() {
         return ResponseEntity.ok(paragraphService.getAllTopics());
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<ParagraphFacetsResponse> getFacets() {
+        return ResponseEntity.ok(paragraphService.getFacets());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ParagraphResponse> getParagraphById(@PathVariable Long id) {
         return ResponseEntity.ok(paragraphService.getParagraphById(id));
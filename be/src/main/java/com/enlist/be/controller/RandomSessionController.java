@@ -1,5 +1,6 @@
 package com.enlist.be.controller;
 
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.RandomSessionCreateRequest;
 import com.enlist.be.dto.RandomSessionResponse;
 import com.enlist.be.service.RandomSessionService;
@@ -43,6 +44,15 @@ public class RandomSessionController {
         return ResponseEntity.ok(randomSessionService.getUserRandomSessions(userId));
     }
 
+    @GetMapping("/user/page")
+    public ResponseEntity<CursorPageResponse<RandomSessionResponse>> getUserRandomSessionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(randomSessionService.getUserRandomSessionsPage(userId, cursor, size, includeTotal));
+    }
+
     @PostMapping("/{id}/next-paragraph")
     public ResponseEntity<RandomSessionResponse> generateNextParagraph(@PathVariable Long id) {
         return ResponseEntity.ok(randomSessionService.generateNextParagraphForSession(id));
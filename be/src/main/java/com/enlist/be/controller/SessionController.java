@@ -1,12 +1,18 @@
 package com.enlist.be.controller;
 
 import com.enlist.be.dto.*;
+import com.enlist.be.service.IdempotencyService;
 import com.enlist.be.service.SessionService;
+import com.enlist.be.service.SessionViewCache;
+import com.enlist.be.service.SubmissionJobService;
 import com.enlist.be.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -15,7 +21,12 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class SessionController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final SessionService sessionService;
+    private final IdempotencyService idempotencyService;
+    private final SubmissionJobService submissionJobService;
 
     @PostMapping
     public ResponseEntity<SessionResponse> createSession(@RequestBody SessionCreateRequest request) {
@@ -24,20 +35,50 @@ public class SessionController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SessionResponse> getSession(@PathVariable Long id) {
-        return ResponseEntity.ok(sessionService.getSession(id));
+    public ResponseEntity<byte[]> getSession(@PathVariable Long id) {
+        // Spring answers 304 itself when If-None-Match matches the ETag
+        SessionViewCache.View view = sessionService.getSessionView(id);
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(view.body());
     }
 
     @PostMapping("/{id}/submit")
     public ResponseEntity<SentenceSubmissionResponse> submitTranslation(
             @PathVariable Long id,
-            @RequestBody SentenceSubmitRequest request) {
-        return ResponseEntity.ok(sessionService.submitTranslation(id, request));
+            @RequestBody SentenceSubmitRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(sessionService.submitTranslation(id, request));
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        return replayable(sessionService.submitTranslation(userId, id, request, idempotencyKey));
+    }
+
+    @PostMapping("/{id}/submit-async")
+    public ResponseEntity<SubmissionJobResponse> submitTranslationAsync(
+            @PathVariable Long id,
+            @RequestBody SentenceSubmitRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        SubmissionJobResponse job = submissionJobService.enqueue(userId, id, request, idempotencyKey);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/submission-jobs/" + job.getJobId()))
+                .body(job);
     }
 
     @PostMapping("/{id}/skip")
-    public ResponseEntity<SentenceSubmissionResponse> skipSentence(@PathVariable Long id) {
-        return ResponseEntity.ok(sessionService.skipSentence(id));
+    public ResponseEntity<SentenceSubmissionResponse> skipSentence(
+            @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(sessionService.skipSentence(id));
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        return replayable(idempotencyService.execute(userId, "skip:" + id, idempotencyKey, null,
+                SentenceSubmissionResponse.class, () -> sessionService.skipSentence(id)));
     }
 
     @GetMapping("/{id}/progress")
@@ -51,8 +92,23 @@ public class SessionController {
         return ResponseEntity.ok(sessionService.getUserSessions(userId));
     }
 
+    @GetMapping("/user/page")
+    public ResponseEntity<CursorPageResponse<SessionListItem>> getUserSessionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(sessionService.getUserSessionsPage(userId, cursor, size, includeTotal));
+    }
+
     @GetMapping("/{id}/summary")
     public ResponseEntity<SessionSummaryResponse> getSessionSummary(@PathVariable Long id) {
         return ResponseEntity.ok(sessionService.getSessionSummary(id));
     }
+
+    private static <T> ResponseEntity<T> replayable(IdempotencyService.Result<T> result) {
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
+    }
 }
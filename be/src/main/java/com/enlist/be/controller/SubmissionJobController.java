@@ -0,0 +1,33 @@
+package com.enlist.be.controller;
+
+import com.enlist.be.dto.SubmissionJobResponse;
+import com.enlist.be.service.SubmissionJobNotifier;
+import com.enlist.be.service.SubmissionJobService;
+import com.enlist.be.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/submission-jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SubmissionJobController {
+
+    private final SubmissionJobService submissionJobService;
+    private final SubmissionJobNotifier submissionJobNotifier;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<SubmissionJobResponse> getJob(@PathVariable String jobId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(submissionJobService.getJob(jobId, userId));
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String jobId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return submissionJobNotifier.subscribe(jobId, userId);
+    }
+}
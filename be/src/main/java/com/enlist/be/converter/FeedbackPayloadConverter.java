@@ -0,0 +1,22 @@
+package com.enlist.be.converter;
+
+import com.enlist.be.dto.FeedbackPayload;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class FeedbackPayloadConverter implements AttributeConverter<FeedbackPayload, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(FeedbackPayload attribute) {
+        return attribute != null ? attribute.toBytes() : null;
+    }
+
+    @Override
+    public FeedbackPayload convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null || dbData.length == 0) {
+            return null;
+        }
+        return FeedbackPayload.fromBytes(dbData);
+    }
+}
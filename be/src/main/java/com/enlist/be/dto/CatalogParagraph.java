@@ -0,0 +1,40 @@
+package com.enlist.be.dto;
+
+import com.enlist.be.entity.Paragraph;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a paragraph held by the in-memory catalog, so snapshots shared across
+ * requests never hand out JPA entities.
+ */
+public record CatalogParagraph(
+        Long id,
+        String title,
+        String content,
+        String difficulty,
+        String topic,
+        String sourcePath,
+        String contentHash,
+        int sentenceCount,
+        List<String> sentences,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static CatalogParagraph of(Paragraph paragraph) {
+        List<String> sentences = paragraph.getSentences() != null ? List.copyOf(paragraph.getSentences()) : List.of();
+        return new CatalogParagraph(
+                paragraph.getId(),
+                paragraph.getTitle(),
+                paragraph.getContent(),
+                paragraph.getDifficulty(),
+                paragraph.getTopic(),
+                paragraph.getSourcePath(),
+                paragraph.getContentHash(),
+                sentences.size(),
+                sentences,
+                paragraph.getCreatedAt(),
+                paragraph.getUpdatedAt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.enlist.be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code cursor} to get
+ * the following page; it is null on the last page. {@code total} is only filled in when the
+ * caller asks for it, since counting is the expensive part offset pagination pays on every page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long total;
+
+    /**
+     * Build a page from up to {@code pageSize + 1} rows; the extra row only signals that more follow.
+     */
+    public static <E, T> CursorPageResponse<T> fromRows(
+            List<E> rows, int pageSize, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .pageSize(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.enlist.be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorCountsByType {
+    private Long grammarErrors;
+    private Long wordChoiceErrors;
+    private Long naturalnessErrors;
+    private Long totalErrors;
+}
@@ -0,0 +1,132 @@
+package com.enlist.be.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stored AI feedback, encoded as Smile (binary JSON with back-referenced field names).
+ * Decoding is lazy: {@link #getErrors()} reads only the errors array, while
+ * {@link #getFeedback()} decodes everything. Payloads written before the binary
+ * encoding are plain JSON and are still readable.
+ *
+ * <p>Payloads are not compressed further. A zstd dictionary trained on feedback would shrink
+ * them more, but needs a native library and a dictionary to version alongside the data, while
+ * Smile's shared names and values already remove most of the repetition between fields.
+ */
+public final class FeedbackPayload {
+
+    private static final ObjectMapper smileMapper = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectMapper jsonMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final TypeReference<List<TranslationError>> ERROR_LIST = new TypeReference<>() {};
+
+    private final byte[] encoded;
+    private TranslationFeedback feedback;
+    private List<TranslationError> errors;
+
+    private FeedbackPayload(byte[] encoded, TranslationFeedback feedback) {
+        this.encoded = encoded;
+        this.feedback = feedback;
+    }
+
+    public static FeedbackPayload of(TranslationFeedback feedback) {
+        try {
+            return new FeedbackPayload(smileMapper.writeValueAsBytes(feedback), feedback);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to encode feedback", e);
+        }
+    }
+
+    public static FeedbackPayload fromBytes(byte[] encoded) {
+        return new FeedbackPayload(encoded, null);
+    }
+
+    public byte[] toBytes() {
+        return encoded;
+    }
+
+    /**
+     * True for payloads written as JSON text before the binary encoding was introduced.
+     */
+    public boolean isLegacyJson() {
+        return !isSmile(encoded);
+    }
+
+    /**
+     * The same feedback re-encoded in the current binary format.
+     */
+    public FeedbackPayload reencode() {
+        return isLegacyJson() ? of(getFeedback()) : this;
+    }
+
+    public TranslationFeedback getFeedback() {
+        if (feedback == null) {
+            try {
+                feedback = mapper().readValue(encoded, TranslationFeedback.class);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to decode feedback", e);
+            }
+        }
+        return feedback;
+    }
+
+    public List<TranslationError> getErrors() {
+        if (feedback != null) {
+            return feedback.getErrors();
+        }
+        if (errors == null) {
+            errors = readErrors();
+        }
+        return errors;
+    }
+
+    private List<TranslationError> readErrors() {
+        try (JsonParser parser = mapper().createParser(encoded)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return List.of();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(field) && value == JsonToken.START_ARRAY) {
+                    return mapper().readValue(parser, ERROR_LIST);
+                }
+                parser.skipChildren();
+            }
+            return List.of();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to decode feedback errors", e);
+        }
+    }
+
+    private ObjectMapper mapper() {
+        return isSmile(encoded) ? smileMapper : jsonMapper;
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        // Smile header ":)\n"
+        return bytes != null && bytes.length >= 3 && bytes[0] == ':' && bytes[1] == ')' && bytes[2] == '\n';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof FeedbackPayload other && Arrays.equals(encoded, other.encoded));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(encoded);
+    }
+}
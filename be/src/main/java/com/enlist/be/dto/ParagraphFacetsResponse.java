@@ -0,0 +1,19 @@
+package com.enlist.be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParagraphFacetsResponse {
+    private long total;
+    private Map<String, Long> byTopic;
+    private Map<String, Long> byDifficulty;
+    private Map<String, Map<String, Long>> byTopicAndDifficulty;
+}
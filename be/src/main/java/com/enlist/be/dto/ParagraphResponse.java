@@ -35,6 +35,19 @@ public class ParagraphResponse {
                 .build();
     }
 
+    public static ParagraphResponse fromCatalog(CatalogParagraph paragraph, String completionStatus) {
+        return ParagraphResponse.builder()
+                .id(paragraph.id())
+                .title(paragraph.title())
+                .content(paragraph.content())
+                .difficulty(paragraph.difficulty())
+                .topic(paragraph.topic())
+                .sentenceCount(paragraph.sentenceCount())
+                .sentences(paragraph.sentences())
+                .completionStatus(completionStatus)
+                .build();
+    }
+
     public static ParagraphResponse fromEntityWithStatus(Paragraph paragraph, String completionStatus) {
         return ParagraphResponse.builder()
                 .id(paragraph.getId())
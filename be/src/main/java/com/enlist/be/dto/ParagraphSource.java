@@ -0,0 +1,18 @@
+package com.enlist.be.dto;
+
+import java.util.List;
+
+/**
+ * A curated paragraph as parsed from its markdown file. {@code sourcePath} is relative to the
+ * content root and identifies the paragraph across syncs; {@code contentHash} is the SHA-256 of
+ * the file bytes.
+ */
+public record ParagraphSource(
+        String sourcePath,
+        String contentHash,
+        String title,
+        String topic,
+        String difficulty,
+        String content,
+        List<String> sentences) {
+}
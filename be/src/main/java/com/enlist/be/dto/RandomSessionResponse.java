@@ -31,6 +31,31 @@ public class RandomSessionResponse {
     private RandomSessionParagraphDTO currentParagraph;
     private List<RandomSessionParagraphDTO> paragraphs;
 
+    /**
+     * Response for a call that added {@code added} to the session: the session aggregates with
+     * only the new paragraph, which is also the current one, instead of the full history. The
+     * history comes from {@code GET /api/random-sessions/{id}}.
+     */
+    public static RandomSessionResponse withNewParagraph(RandomSession session, RandomSessionParagraph added) {
+        RandomSessionParagraphDTO paragraph = RandomSessionParagraphDTO.fromEntity(added);
+        return RandomSessionResponse.builder()
+                .id(session.getId())
+                .userId(session.getUserId())
+                .status(session.getStatus().name())
+                .currentDifficulty(session.getCurrentDifficulty())
+                .initialDifficulty(session.getInitialDifficulty())
+                .targetLanguage(session.getTargetLanguage())
+                .totalParagraphsCompleted(session.getTotalParagraphsCompleted())
+                .totalPoints(session.getTotalPoints())
+                .totalCredits(session.getTotalCredits())
+                .averageAccuracy(session.getAverageAccuracy())
+                .startedAt(session.getStartedAt())
+                .endedAt(session.getEndedAt())
+                .currentParagraph(paragraph)
+                .paragraphs(List.of(paragraph))
+                .build();
+    }
+
     public static RandomSessionResponse fromEntity(RandomSession session) {
         RandomSessionParagraphDTO currentParagraph = null;
         if (session.getParagraphs() != null && !session.getParagraphs().isEmpty()) {
@@ -13,4 +13,7 @@ public class SentenceSubmitRequest {
     private String userTranslation;
     private Boolean isRetry;
     private Long parentSubmissionId;
+
+    /** Sentence the client is answering; when set, a submission for any other sentence is rejected. */
+    private Integer sentenceIndex;
 }
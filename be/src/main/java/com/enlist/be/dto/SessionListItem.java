@@ -0,0 +1,58 @@
+package com.enlist.be.dto;
+
+import com.enlist.be.entity.ParagraphSession;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of a session for listings, read with a single projection query. The full session,
+ * with sentences and completed translations, comes from {@code GET /api/sessions/{id}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionListItem {
+    private Long id;
+    private Long paragraphId;
+    private String paragraphTitle;
+    private String status;
+    private int currentSentenceIndex;
+    private int totalSentences;
+    private int completedSentences;
+    private double averageAccuracy;
+    private int totalPoints;
+    private int totalCredits;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    /**
+     * Projection constructor used by ParagraphSessionRepository.
+     */
+    public SessionListItem(Long id, Long paragraphId, String paragraphTitle, ParagraphSession.Status status,
+                           Integer currentSentenceIndex, Integer totalSentences, Integer completedSentences,
+                           Double accuracySum, Integer scoredCount, Integer totalPoints, Integer totalCredits,
+                           LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.paragraphId = paragraphId;
+        this.paragraphTitle = paragraphTitle;
+        this.status = status.name();
+        this.currentSentenceIndex = valueOrZero(currentSentenceIndex);
+        this.totalSentences = valueOrZero(totalSentences);
+        this.completedSentences = valueOrZero(completedSentences);
+        this.averageAccuracy = scoredCount == null || scoredCount == 0 || accuracySum == null
+                ? 0.0 : accuracySum / scoredCount;
+        this.totalPoints = valueOrZero(totalPoints);
+        this.totalCredits = valueOrZero(totalCredits);
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -7,9 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -39,8 +36,9 @@ public class SessionResponse {
     private Map<Integer, String> completedTranslations;
     private Map<Integer, CompletedSentenceDTO> completedSentenceDetails;
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
+    /**
+     * Map a session whose submissions' feedback has been resolved (see {@code FeedbackBlobService}).
+     */
     public static SessionResponse fromEntity(ParagraphSession session) {
         var paragraph = session.getParagraph();
         var sentences = paragraph.getSentences();
@@ -58,30 +56,14 @@ public class SessionResponse {
                         && !Boolean.TRUE.equals(submission.getSkipped())) {
                     completedTranslations.put(submission.getSentenceIndex(), submission.getUserTranslation());
                     
-                    // Parse errors from feedbackJson
                     List<CompletedSentenceDTO.ErrorDTO> errors = new ArrayList<>();
-                    if (submission.getFeedbackJson() != null) {
-                        try {
-                            Map<String, Object> feedback = objectMapper.readValue(
-                                submission.getFeedbackJson(), 
-                                new TypeReference<Map<String, Object>>() {}
-                            );
-                            Object errorsObj = feedback.get("errors");
-                            if (errorsObj instanceof List<?>) {
-                                for (Object errorObj : (List<?>) errorsObj) {
-                                    if (errorObj instanceof Map<?, ?>) {
-                                        @SuppressWarnings("unchecked")
-                                        Map<String, Object> errorMap = (Map<String, Object>) errorObj;
-                                        errors.add(CompletedSentenceDTO.ErrorDTO.builder()
-                                            .type((String) errorMap.get("type"))
-                                            .quickFix((String) errorMap.get("quickFix"))
-                                            .correction((String) errorMap.get("correction"))
-                                            .build());
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            // Ignore JSON parse errors
+                    if (submission.getFeedback() != null && submission.getFeedback().getErrors() != null) {
+                        for (TranslationError error : submission.getFeedback().getErrors()) {
+                            errors.add(CompletedSentenceDTO.ErrorDTO.builder()
+                                .type(error.getType())
+                                .quickFix(error.getQuickFix())
+                                .correction(error.getCorrection())
+                                .build());
                         }
                     }
                     
@@ -0,0 +1,36 @@
+package com.enlist.be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionJobResponse {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private String jobId;
+    private Long sessionId;
+    private Long userId;
+    private Status status;
+    private SentenceSubmissionResponse result;
+    private String error;
+    private Integer errorStatus;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
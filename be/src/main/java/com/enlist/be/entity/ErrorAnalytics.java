@@ -1,12 +1,14 @@
 package com.enlist.be.entity;
 
 import jakarta.persistence.*;
+import com.enlist.be.dto.TranslationError;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Table(name = "error_analytics")
@@ -65,6 +67,61 @@ public class ErrorAnalytics {
     public enum ErrorType {
         GRAMMAR,
         WORD_CHOICE,
-        NATURALNESS
+        NATURALNESS;
+
+        /**
+         * Map a free-form error type reported by the AI onto a category, or null if it fits none.
+         */
+        public static ErrorType classify(String type) {
+            if (type == null) {
+                return null;
+            }
+            String typeLower = type.toLowerCase();
+            if (typeLower.contains("grammar")
+                    || typeLower.contains("tense")
+                    || typeLower.contains("article")
+                    || typeLower.contains("preposition")) {
+                return GRAMMAR;
+            }
+            if (typeLower.contains("word") || typeLower.contains("vocabulary")) {
+                return WORD_CHOICE;
+            }
+            if (typeLower.contains("natural") || typeLower.contains("flow")) {
+                return NATURALNESS;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Errors of one submission counted per {@link ErrorType}. Errors without a type are skipped;
+     * typed errors that fit no category count towards the total only.
+     */
+    public record ErrorTally(int total, int grammar, int wordChoice, int naturalness) {
+
+        public static ErrorTally of(List<TranslationError> errors) {
+            int total = 0;
+            int grammar = 0;
+            int wordChoice = 0;
+            int naturalness = 0;
+            if (errors != null) {
+                for (TranslationError error : errors) {
+                    if (error.getType() == null) {
+                        continue;
+                    }
+                    total++;
+                    ErrorType category = ErrorType.classify(error.getType());
+                    if (category == null) {
+                        continue;
+                    }
+                    switch (category) {
+                        case GRAMMAR -> grammar++;
+                        case WORD_CHOICE -> wordChoice++;
+                        case NATURALNESS -> naturalness++;
+                    }
+                }
+            }
+            return new ErrorTally(total, grammar, wordChoice, naturalness);
+        }
     }
 }
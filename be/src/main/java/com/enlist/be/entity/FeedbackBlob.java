@@ -0,0 +1,34 @@
+package com.enlist.be.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Encoded feedback shared by every submission that produced the same bytes, keyed by the
+ * hex SHA-256 of the payload. Rows are never updated or deleted.
+ */
+@Entity
+@Table(name = "feedback_blobs")
+@Immutable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackBlob {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,104 @@
+package com.enlist.be.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Side effect of a session change, recorded in the same transaction as the change and carried
+ * out later by OutboxDispatcher.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    public enum Type {
+        DAILY_PROGRESS,
+        REVIEW_QUEUE,
+        ERROR_ANALYTICS,
+        SESSION_CREDITS,
+        RANDOM_SESSION_COMPLETED,
+        RANDOM_SESSION_NEXT_PARAGRAPH
+    }
+
+    public enum Status {
+        PENDING,
+        DONE,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 40)
+    private Type type;
+
+    /** The paragraph session that produced the event. */
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb")
+    private Map<String, Object> payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    public Integer getInt(String key) {
+        Object value = payload.get(key);
+        return value != null ? ((Number) value).intValue() : null;
+    }
+
+    public Double getDouble(String key) {
+        Object value = payload.get(key);
+        return value != null ? ((Number) value).doubleValue() : null;
+    }
+
+    public String getString(String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -1,5 +1,7 @@
 package com.enlist.be.entity;
 
+import com.enlist.be.converter.StringListConverter;
+import com.enlist.be.util.VietnameseSentenceSegmenter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,9 +9,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "paragraphs")
@@ -19,6 +20,9 @@ import java.util.List;
 @AllArgsConstructor
 public class Paragraph {
 
+    /** Topic of paragraphs generated for random sessions; these are not part of the curated catalog. */
+    public static final String AI_GENERATED_TOPIC = "AI Generated";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -34,6 +38,21 @@ public class Paragraph {
 
     private String topic;
 
+    @Convert(converter = StringListConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<String> sentences;
+
+    @Column(name = "sentence_count")
+    private Integer sentenceCount;
+
+    /** Markdown file this paragraph was synced from, relative to the content root; null otherwise. */
+    @Column(name = "source_path")
+    private String sourcePath;
+
+    /** SHA-256 of the source file at the last sync. */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -44,25 +63,34 @@ public class Paragraph {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        segment();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        segment();
     }
 
-    public List<String> getSentences() {
-        if (content == null || content.isBlank()) {
-            return new ArrayList<>();
+    /**
+     * Sentences are segmented whenever the content is written, so reads never segment. Rows
+     * saved before the columns existed are segmented by {@code DatabaseMigrationRunner}.
+     */
+    public void setContent(String content) {
+        if (Objects.equals(this.content, content) && sentences != null) {
+            // Unchanged content keeps its stored split, which live sessions index into
+            return;
         }
-        String[] parts = content.split("(?<=[.!?])\\s+");
-        return Arrays.stream(parts)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .toList();
+        this.content = content;
+        this.sentences = List.copyOf(VietnameseSentenceSegmenter.segment(content));
+        this.sentenceCount = sentences.size();
     }
 
-    public int getSentenceCount() {
-        return getSentences().size();
+    /** Paragraphs built without {@link #setContent} are segmented when first saved. */
+    private void segment() {
+        if (sentences == null || sentenceCount == null) {
+            sentences = List.copyOf(VietnameseSentenceSegmenter.segment(content));
+            sentenceCount = sentences.size();
+        }
     }
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 @Entity
@@ -32,6 +33,11 @@ public class ParagraphSession {
     @Column(name = "user_id")
     private Long userId;
 
+    /** Revision of the live state kept in Redis while the session is active; see ActiveSessionStore. */
+    @Column(name = "state_revision", columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long stateRevision = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "paragraph_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Paragraph paragraph;
@@ -65,6 +71,23 @@ public class ParagraphSession {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    @Column(name = "accuracy_sum")
+    @Builder.Default
+    private Double accuracySum = 0.0;
+
+    @Column(name = "scored_count")
+    @Builder.Default
+    private Integer scoredCount = 0;
+
+    /** Bitmask of sentence indexes that have at least one submission, as BitSet bytes. */
+    @Column(name = "completed_sentences")
+    @Builder.Default
+    private byte[] completedSentences = new byte[0];
+
+    @Column(name = "completed_sentence_count")
+    @Builder.Default
+    private Integer completedSentenceCount = 0;
+
     @PrePersist
     protected void onCreate() {
         startedAt = LocalDateTime.now();
@@ -85,23 +108,27 @@ public class ParagraphSession {
         this.completedAt = LocalDateTime.now();
     }
 
-    public double getAverageAccuracy() {
-        if (submissions == null || submissions.isEmpty()) {
-            return 0.0;
+    /**
+     * Fold a new submission (including retries and skips) into the running aggregates.
+     * Must be called before the submission is added to {@link #submissions}.
+     */
+    public void recordSubmission(int sentenceIndex, double accuracy) {
+        accuracySum += accuracy;
+        scoredCount++;
+
+        BitSet completed = BitSet.valueOf(completedSentences);
+        if (!completed.get(sentenceIndex)) {
+            completed.set(sentenceIndex);
+            completedSentences = completed.toByteArray();
+            completedSentenceCount++;
         }
-        return submissions.stream()
-                .mapToDouble(SentenceSubmission::getAccuracy)
-                .average()
-                .orElse(0.0);
     }
 
-    public int getCompletedSentenceCount() {
-        if (submissions == null) {
-            return 0;
-        }
-        return (int) submissions.stream()
-                .map(SentenceSubmission::getSentenceIndex)
-                .distinct()
-                .count();
+    /**
+     * Aggregates of sessions saved before the columns existed are backfilled by
+     * {@code DatabaseMigrationRunner}, so they are never null here.
+     */
+    public double getAverageAccuracy() {
+        return scoredCount == 0 ? 0.0 : accuracySum / scoredCount;
     }
 }
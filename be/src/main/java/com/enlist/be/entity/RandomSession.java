@@ -49,22 +49,42 @@ public class RandomSession {
     @Column(name = "config_json", columnDefinition = "TEXT")
     private String configJson;
 
-    @Column(name = "total_paragraphs_completed")
+    // Completion aggregates are only written by RandomSessionRepository#recordParagraphCompletion,
+    // so saving a stale copy of the entity can never undo a completion
+
+    @Column(name = "total_paragraphs_completed", updatable = false)
     @Builder.Default
     private Integer totalParagraphsCompleted = 0;
 
-    @Column(name = "total_points")
+    @Column(name = "total_points", updatable = false)
     @Builder.Default
     private Integer totalPoints = 0;
 
-    @Column(name = "total_credits")
+    @Column(name = "total_credits", updatable = false)
     @Builder.Default
     private Integer totalCredits = 0;
 
-    @Column(name = "average_accuracy")
+    @Column(name = "average_accuracy", updatable = false)
     @Builder.Default
     private Double averageAccuracy = 0.0;
 
+    /** Sum of the accuracies of completed paragraphs that reported one. */
+    @Column(name = "accuracy_sum", updatable = false)
+    @Builder.Default
+    private Double accuracySum = 0.0;
+
+    @Column(name = "accuracy_count", updatable = false)
+    @Builder.Default
+    private Integer accuracyCount = 0;
+
+    /**
+     * Order index the next paragraph will get. Only RandomSessionRepository#claimOrderIndex
+     * advances it, so entity updates never write it back.
+     */
+    @Column(name = "next_order_index", updatable = false)
+    @Builder.Default
+    private Integer nextOrderIndex = 0;
+
     @OneToMany(mappedBy = "randomSession", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<RandomSessionParagraph> paragraphs = new ArrayList<>();
@@ -105,10 +125,6 @@ public class RandomSession {
         this.endedAt = LocalDateTime.now();
     }
 
-    public void incrementParagraphsCompleted() {
-        this.totalParagraphsCompleted++;
-    }
-
     public void updateDifficulty(Integer newDifficulty) {
         if (newDifficulty >= 1 && newDifficulty <= 10) {
             this.currentDifficulty = newDifficulty;
@@ -1,5 +1,7 @@
 package com.enlist.be.entity;
 
+import com.enlist.be.converter.FeedbackPayloadConverter;
+import com.enlist.be.dto.FeedbackPayload;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -48,8 +50,34 @@ public class SentenceSubmission {
     @Column(name = "naturalness_score")
     private Integer naturalnessScore;
 
-    @Column(name = "feedback_json", columnDefinition = "TEXT")
-    private String feedbackJson;
+    /** SHA-256 of the feedback payload in feedback_blobs. */
+    @Column(name = "feedback_hash", length = 64)
+    private String feedbackHash;
+
+    /** Inline feedback from before blob storage; moved into feedback_blobs at startup. */
+    @Convert(converter = FeedbackPayloadConverter.class)
+    @Column(name = "feedback_json", columnDefinition = "bytea")
+    private FeedbackPayload legacyFeedback;
+
+    /**
+     * Decoded feedback: set when the submission is created, and filled in by
+     * {@code FeedbackBlobService.resolve} for submissions read back from the database.
+     */
+    @Transient
+    private FeedbackPayload feedback;
+
+    /** Per-category error counts derived from {@link #feedback} so analytics can aggregate in SQL. */
+    @Column(name = "error_count")
+    private Integer errorCount;
+
+    @Column(name = "grammar_error_count")
+    private Integer grammarErrorCount;
+
+    @Column(name = "word_choice_error_count")
+    private Integer wordChoiceErrorCount;
+
+    @Column(name = "naturalness_error_count")
+    private Integer naturalnessErrorCount;
 
     @Column(name = "points_earned")
     @Builder.Default
@@ -71,5 +99,15 @@ public class SentenceSubmission {
     @PrePersist
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
+        countErrors();
+    }
+
+    private void countErrors() {
+        FeedbackPayload payload = feedback != null ? feedback : legacyFeedback;
+        ErrorAnalytics.ErrorTally tally = ErrorAnalytics.ErrorTally.of(payload != null ? payload.getErrors() : null);
+        errorCount = tally.total();
+        grammarErrorCount = tally.grammar();
+        wordChoiceErrorCount = tally.wordChoice();
+        naturalnessErrorCount = tally.naturalness();
     }
 }
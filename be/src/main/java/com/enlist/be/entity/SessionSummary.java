@@ -1,12 +1,19 @@
 package com.enlist.be.entity;
 
+import com.enlist.be.dto.SessionSummaryResponse;
+import com.enlist.be.dto.TranslationError;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "session_summaries")
@@ -60,8 +67,10 @@ public class SessionSummary {
     @Builder.Default
     private Integer totalPoints = 0;
 
-    @Column(name = "errors_json", columnDefinition = "TEXT")
-    private String errorsJson;
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "errors_json", columnDefinition = "jsonb")
+    @Builder.Default
+    private List<SessionSummaryResponse.ErrorDetail> errors = new ArrayList<>();
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -70,4 +79,45 @@ public class SessionSummary {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
+
+    /**
+     * Add the errors of one evaluated submission to the breakdown, appending to the list in place.
+     */
+    public void recordErrors(SentenceSubmission submission, List<TranslationError> translationErrors) {
+        List<SessionSummaryResponse.ErrorDetail> details = errorDetails(submission, translationErrors);
+        if (details.isEmpty()) {
+            return;
+        }
+
+        ErrorAnalytics.ErrorTally tally = ErrorAnalytics.ErrorTally.of(translationErrors);
+        totalErrors += tally.total();
+        grammarErrors += tally.grammar();
+        wordChoiceErrors += tally.wordChoice();
+        naturalnessErrors += tally.naturalness();
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.addAll(details);
+    }
+
+    /**
+     * Breakdown entries for one submission's errors; errors without a type are left out.
+     */
+    public static List<SessionSummaryResponse.ErrorDetail> errorDetails(SentenceSubmission submission,
+                                                                        List<TranslationError> translationErrors) {
+        if (translationErrors == null) {
+            return List.of();
+        }
+        return translationErrors.stream()
+                .filter(error -> error.getType() != null)
+                .map(error -> SessionSummaryResponse.ErrorDetail.builder()
+                        .sentenceIndex(submission.getSentenceIndex())
+                        .originalSentence(Objects.requireNonNullElse(submission.getOriginalSentence(), ""))
+                        .userTranslation(Objects.requireNonNullElse(submission.getUserTranslation(), ""))
+                        .type(error.getType())
+                        .quickFix(Objects.requireNonNullElse(error.getQuickFix(), ""))
+                        .correction(Objects.requireNonNullElse(error.getCorrection(), ""))
+                        .build())
+                .toList();
+    }
 }
@@ -0,0 +1,30 @@
+package com.enlist.be.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.enlist.AICall")
+@Label("AI Call")
+@Category({"Enlist", "AI"})
+@Description("Round trip to the Groq chat completion API")
+@StackTrace(false)
+public class AICallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Model")
+    public String model;
+
+    @Label("Prompt Length")
+    public int promptLength;
+
+    @Label("Response Length")
+    public int responseLength;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,24 @@
+package com.enlist.be.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.enlist.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Enlist", "Redis"})
+@Description("Redis lookup performed by a cache service")
+@StackTrace(false)
+public class CacheLookupEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,23 @@
+package com.enlist.be.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.enlist.JsonParse")
+@Label("JSON Parse")
+@Category({"Enlist", "JSON"})
+@Description("Deserialization of a JSON payload into Java objects")
+@StackTrace(false)
+public class JsonParseEvent extends jdk.jfr.Event {
+
+    @Label("Target")
+    public String target;
+
+    @Label("Length")
+    @DataAmount(DataAmount.BYTES)
+    public int length;
+}
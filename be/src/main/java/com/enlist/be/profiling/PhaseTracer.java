@@ -0,0 +1,42 @@
+package com.enlist.be.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Times a named phase of session processing as both a tracing span and a JFR event.
+ */
+@Component
+@RequiredArgsConstructor
+public class PhaseTracer {
+
+    private final ObservationRegistry observationRegistry;
+
+    public <T> T trace(String phase, Long sessionId, Supplier<T> body) {
+        SubmissionPhaseEvent event = SubmissionPhaseEvent.start(sessionId, phase);
+        try {
+            return observation(phase, sessionId).observe(body);
+        } finally {
+            event.end();
+        }
+    }
+
+    public void trace(String phase, Long sessionId, Runnable body) {
+        SubmissionPhaseEvent event = SubmissionPhaseEvent.start(sessionId, phase);
+        try {
+            observation(phase, sessionId).observe(body);
+        } finally {
+            event.end();
+        }
+    }
+
+    private Observation observation(String phase, Long sessionId) {
+        return Observation.createNotStarted("session." + phase, observationRegistry)
+                .lowCardinalityKeyValue("phase", phase)
+                .highCardinalityKeyValue("session.id", String.valueOf(sessionId));
+    }
+}
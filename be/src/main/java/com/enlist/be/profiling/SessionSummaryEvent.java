@@ -0,0 +1,24 @@
+package com.enlist.be.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.enlist.SessionSummary")
+@Label("Session Summary")
+@Category({"Enlist", "Session"})
+@Description("Creation of the summary for a completed paragraph session")
+@StackTrace(false)
+public class SessionSummaryEvent extends jdk.jfr.Event {
+
+    @Label("Session Id")
+    public long sessionId;
+
+    @Label("Submissions")
+    public int submissions;
+
+    @Label("Errors")
+    public int errors;
+}
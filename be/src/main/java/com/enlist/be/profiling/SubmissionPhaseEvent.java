@@ -0,0 +1,36 @@
+package com.enlist.be.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.enlist.SubmissionPhase")
+@Label("Submission Phase")
+@Category({"Enlist", "Session"})
+@Description("One phase of SessionService.submitTranslation")
+@StackTrace(false)
+public class SubmissionPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Session Id")
+    public long sessionId;
+
+    @Label("Phase")
+    public String phase;
+
+    /**
+     * Create and begin timing a phase; call {@link #end()} when the phase is done.
+     */
+    public static SubmissionPhaseEvent start(Long sessionId, String phase) {
+        SubmissionPhaseEvent event = new SubmissionPhaseEvent();
+        event.sessionId = sessionId != null ? sessionId : 0L;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void end() {
+        commit();
+    }
+}
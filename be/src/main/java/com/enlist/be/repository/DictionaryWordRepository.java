@@ -1,9 +1,13 @@
 package com.enlist.be.repository;
 
 import com.enlist.be.entity.DictionaryWord;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +15,23 @@ public interface DictionaryWordRepository extends JpaRepository<DictionaryWord,
     List<DictionaryWord> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<DictionaryWord> findByUserIdAndSessionIdOrderByCreatedAtDesc(Long userId, Long sessionId);
     boolean existsByUserIdAndWordIgnoreCase(Long userId, String word);
+    long countByUserId(Long userId);
+
+    List<DictionaryWord> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+
+    /**
+     * Keyset page of a user's words strictly after ({@code createdAt}, {@code id}), newest first.
+     */
+    @Query("""
+            SELECT w FROM DictionaryWord w
+            WHERE w.userId = :userId
+              AND (w.createdAt < :createdAt OR (w.createdAt = :createdAt AND w.id < :id))
+            ORDER BY w.createdAt DESC, w.id DESC
+            """)
+    List<DictionaryWord> findByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -2,6 +2,7 @@ package com.enlist.be.repository;
 
 import com.enlist.be.entity.ErrorAnalytics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,4 +32,26 @@ public interface ErrorAnalyticsRepository extends JpaRepository<ErrorAnalytics,
 
     @Query("SELECT e FROM ErrorAnalytics e WHERE e.userId = :userId ORDER BY e.count DESC LIMIT :limit")
     List<ErrorAnalytics> findTopErrorsByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Add one occurrence for each comma-separated (type, category) pair, inserting missing rows.
+     * Relies on the unique index created by DatabaseMigrationRunner.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO error_analytics
+                (user_id, error_type, error_category, count, last_occurrence, created_at, updated_at)
+            SELECT :userId, t.error_type, t.error_category, 1, LOCALTIMESTAMP, LOCALTIMESTAMP, LOCALTIMESTAMP
+            FROM unnest(string_to_array(:errorTypes, ','), string_to_array(:errorCategories, ','))
+                AS t(error_type, error_category)
+            ON CONFLICT (user_id, error_type, error_category) DO UPDATE
+            SET count = error_analytics.count + EXCLUDED.count,
+                last_occurrence = EXCLUDED.last_occurrence,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int incrementErrorCounts(
+            @Param("userId") Long userId,
+            @Param("errorTypes") String errorTypes,
+            @Param("errorCategories") String errorCategories
+    );
 }
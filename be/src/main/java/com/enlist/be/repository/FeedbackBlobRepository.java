@@ -0,0 +1,23 @@
+package com.enlist.be.repository;
+
+import com.enlist.be.entity.FeedbackBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedbackBlobRepository extends JpaRepository<FeedbackBlob, String> {
+
+    /**
+     * Store a blob unless one with the same hash already exists. Safe under concurrent writers.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO feedback_blobs (hash, payload, created_at)
+            VALUES (:hash, :payload, LOCALTIMESTAMP)
+            ON CONFLICT (hash) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("payload") byte[] payload);
+}
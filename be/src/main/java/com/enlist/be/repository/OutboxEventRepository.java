@@ -0,0 +1,31 @@
+package com.enlist.be.repository;
+
+import com.enlist.be.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * The given events that are still pending, row-locked until the transaction ends. A node
+     * that re-claims one after its lease ran out waits here and then finds it handled.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id IN :ids AND e.status = :status ORDER BY e.id")
+    List<OutboxEvent> lockByIdInAndStatus(@Param("ids") Collection<Long> ids,
+                                          @Param("status") OutboxEvent.Status status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = :status AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("status") OutboxEvent.Status status, @Param("before") LocalDateTime before);
+}
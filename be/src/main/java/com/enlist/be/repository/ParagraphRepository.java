@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -22,6 +23,8 @@ public interface ParagraphRepository extends JpaRepository<Paragraph, Long>, Jpa
 
     List<Paragraph> findByTitleContainingIgnoreCase(String title);
 
+    List<Paragraph> findBySourcePathIn(Collection<String> sourcePaths);
+
     Page<Paragraph> findByDifficulty(String difficulty, Pageable pageable);
 
     Page<Paragraph> findByTopic(String topic, Pageable pageable);
@@ -29,18 +32,38 @@ public interface ParagraphRepository extends JpaRepository<Paragraph, Long>, Jpa
     Page<Paragraph> findByDifficultyAndTopic(String difficulty, String topic, Pageable pageable);
 
     @Query(value = "SELECT * FROM paragraphs p WHERE " +
+           "(:difficulty IS NULL OR p.difficulty = :difficulty) AND " +
+           "(:topic IS NULL OR p.topic = :topic)",
+           countQuery = "SELECT COUNT(*) FROM paragraphs p WHERE " +
+           "(:difficulty IS NULL OR p.difficulty = :difficulty) AND " +
+           "(:topic IS NULL OR p.topic = :topic)",
+           nativeQuery = true)
+    Page<Paragraph> findWithFilters(
+            @Param("difficulty") String difficulty,
+            @Param("topic") String topic,
+            Pageable pageable);
+
+    /**
+     * Full-text search over title and content, most relevant first; the pageable's sort only
+     * breaks ties. {@code query} is a tsquery expression, see ParagraphService#toSearchQuery.
+     * AI-generated paragraphs are left out, as in the catalog.
+     */
+    @Query(value = "SELECT p.* FROM paragraphs p, to_tsquery('enlist_search', :query) q WHERE " +
+           "p.topic IS DISTINCT FROM '" + Paragraph.AI_GENERATED_TOPIC + "' AND " +
            "(:difficulty IS NULL OR p.difficulty = :difficulty) AND " +
            "(:topic IS NULL OR p.topic = :topic) AND " +
-           "(:search IS NULL OR LOWER(p.title::text) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.content::text) LIKE LOWER(CONCAT('%', :search, '%')))",
+           "p.search_vector @@ q " +
+           "ORDER BY ts_rank(p.search_vector, q) DESC",
            countQuery = "SELECT COUNT(*) FROM paragraphs p WHERE " +
+           "p.topic IS DISTINCT FROM '" + Paragraph.AI_GENERATED_TOPIC + "' AND " +
            "(:difficulty IS NULL OR p.difficulty = :difficulty) AND " +
            "(:topic IS NULL OR p.topic = :topic) AND " +
-           "(:search IS NULL OR LOWER(p.title::text) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(p.content::text) LIKE LOWER(CONCAT('%', :search, '%')))",
+           "p.search_vector @@ to_tsquery('enlist_search', :query)",
            nativeQuery = true)
-    Page<Paragraph> findWithFilters(
+    Page<Paragraph> searchWithFilters(
             @Param("difficulty") String difficulty,
             @Param("topic") String topic,
-            @Param("search") String search,
+            @Param("query") String query,
             Pageable pageable);
 
     @Query("SELECT DISTINCT p.topic FROM Paragraph p WHERE p.topic IS NOT NULL ORDER BY p.topic")
@@ -1,9 +1,20 @@
 package com.enlist.be.repository;
 
+import com.enlist.be.dto.SessionListItem;
 import com.enlist.be.entity.ParagraphSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,11 +23,113 @@ public interface ParagraphSessionRepository extends JpaRepository<ParagraphSessi
 
     List<ParagraphSession> findByUserId(Long userId);
 
-    List<ParagraphSession> findByUserIdAndStatus(Long userId, ParagraphSession.Status status);
+    long countByUserId(Long userId);
 
-    Optional<ParagraphSession> findFirstByUserIdAndParagraphIdAndStatusOrderByIdDesc(Long userId, Long paragraphId, ParagraphSession.Status status);
+    List<ParagraphSession> findByUserIdAndStatus(Long userId, ParagraphSession.Status status);
 
     List<ParagraphSession> findByParagraphId(Long paragraphId);
 
-    List<ParagraphSession> findByUserIdAndParagraphIdOrderByIdDesc(Long userId, Long paragraphId);
+    /**
+     * Status of the newest non-abandoned session per paragraph, for a whole catalog page at once.
+     */
+    @Query("""
+            SELECT s.paragraph.id AS paragraphId, s.status AS status
+            FROM ParagraphSession s
+            WHERE s.userId = :userId AND s.paragraph.id IN :paragraphIds
+              AND s.id = (SELECT MAX(o.id) FROM ParagraphSession o
+                          WHERE o.userId = :userId AND o.paragraph.id = s.paragraph.id
+                            AND o.status <> :excluded)
+            """)
+    List<ParagraphStatus> findLatestStatuses(
+            @Param("userId") Long userId,
+            @Param("paragraphIds") Collection<Long> paragraphIds,
+            @Param("excluded") ParagraphSession.Status excluded
+    );
+
+    /**
+     * Open sessions of a user on a paragraph, in-progress ones before not-started ones, newest first.
+     */
+    @Query("""
+            SELECT s FROM ParagraphSession s
+            WHERE s.userId = :userId AND s.paragraph.id = :paragraphId
+              AND s.status IN (:preferred, :fallback)
+            ORDER BY CASE WHEN s.status = :preferred THEN 0 ELSE 1 END, s.id DESC
+            """)
+    List<ParagraphSession> findOpenSessions(
+            @Param("userId") Long userId,
+            @Param("paragraphId") Long paragraphId,
+            @Param("preferred") ParagraphSession.Status preferred,
+            @Param("fallback") ParagraphSession.Status fallback,
+            Pageable pageable
+    );
+
+    default Optional<ParagraphSession> findResumableSession(Long userId, Long paragraphId) {
+        return findOpenSessions(userId, paragraphId, ParagraphSession.Status.IN_PROGRESS,
+                ParagraphSession.Status.NOT_STARTED, PageRequest.of(0, 1)).stream().findFirst();
+    }
+
+    /**
+     * Sessions of a user older than {@code beforeId}, newest first, as list items in one query.
+     */
+    @Query("""
+            SELECT new com.enlist.be.dto.SessionListItem(
+                s.id, p.id, p.title, s.status, s.currentSentenceIndex, p.sentenceCount,
+                s.completedSentenceCount, s.accuracySum, s.scoredCount, s.totalPoints, s.totalCredits,
+                s.startedAt, s.completedAt)
+            FROM ParagraphSession s JOIN s.paragraph p
+            WHERE s.userId = :userId AND s.id < :beforeId
+            ORDER BY s.id DESC
+            """)
+    List<SessionListItem> findListItemsByUserId(
+            @Param("userId") Long userId,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable
+    );
+
+    /**
+     * Load a session whose changes are not flushed; its live state is written through
+     * {@link #writeState} instead.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM ParagraphSession s WHERE s.id = :id")
+    Optional<ParagraphSession> findReadOnlyById(@Param("id") Long id);
+
+    /**
+     * Persist the state held by ActiveSessionStore. A write carrying an older revision than the
+     * stored one is ignored, so a late flush can never roll a session back.
+     */
+    @Modifying
+    @Query("""
+            UPDATE ParagraphSession s
+            SET s.status = :status,
+                s.currentSentenceIndex = :currentSentenceIndex,
+                s.totalPoints = :totalPoints,
+                s.totalCredits = :totalCredits,
+                s.accuracySum = :accuracySum,
+                s.scoredCount = :scoredCount,
+                s.completedSentences = :completedSentences,
+                s.completedSentenceCount = :completedSentenceCount,
+                s.completedAt = :completedAt,
+                s.stateRevision = :stateRevision
+            WHERE s.id = :id AND (s.stateRevision IS NULL OR s.stateRevision < :stateRevision)
+            """)
+    int writeState(
+            @Param("id") Long id,
+            @Param("status") ParagraphSession.Status status,
+            @Param("currentSentenceIndex") Integer currentSentenceIndex,
+            @Param("totalPoints") Integer totalPoints,
+            @Param("totalCredits") Integer totalCredits,
+            @Param("accuracySum") Double accuracySum,
+            @Param("scoredCount") Integer scoredCount,
+            @Param("completedSentences") byte[] completedSentences,
+            @Param("completedSentenceCount") Integer completedSentenceCount,
+            @Param("completedAt") LocalDateTime completedAt,
+            @Param("stateRevision") Long stateRevision
+    );
+
+    interface ParagraphStatus {
+        Long getParagraphId();
+
+        ParagraphSession.Status getStatus();
+    }
 }
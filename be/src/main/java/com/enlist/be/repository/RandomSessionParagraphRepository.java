@@ -1,6 +1,7 @@
 package com.enlist.be.repository;
 
 import com.enlist.be.entity.RandomSessionParagraph;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +17,7 @@ public interface RandomSessionParagraphRepository extends JpaRepository<RandomSe
 
     Optional<RandomSessionParagraph> findByParagraphSessionId(Long paragraphSessionId);
 
+    @EntityGraph(attributePaths = "paragraph")
     Optional<RandomSessionParagraph> findFirstByRandomSessionIdAndStatusOrderByOrderIndexDesc(
             Long randomSessionId, RandomSessionParagraph.Status status);
 
@@ -1,11 +1,15 @@
 package com.enlist.be.repository;
 
 import com.enlist.be.entity.RandomSession;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +26,81 @@ public interface RandomSessionRepository extends JpaRepository<RandomSession, Lo
     
     @Query("SELECT rs FROM RandomSession rs LEFT JOIN FETCH rs.paragraphs WHERE rs.id = :id")
     Optional<RandomSession> findByIdWithParagraphs(@Param("id") Long id);
+
+    long countByUserId(Long userId);
+
+    /**
+     * Fold one completed paragraph into the session aggregates in a single statement; the average
+     * is derived from the running sum and count. A null accuracy counts towards the totals only.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RandomSession rs
+            SET rs.totalParagraphsCompleted = rs.totalParagraphsCompleted + 1,
+                rs.totalPoints = rs.totalPoints + :points,
+                rs.totalCredits = rs.totalCredits + :credits,
+                rs.accuracySum = rs.accuracySum + :accuracy,
+                rs.accuracyCount = rs.accuracyCount + :scored,
+                rs.averageAccuracy = CASE WHEN rs.accuracyCount + :scored = 0 THEN rs.averageAccuracy
+                                          ELSE (rs.accuracySum + :accuracy) / (rs.accuracyCount + :scored) END,
+                rs.updatedAt = :now
+            WHERE rs.id = :id
+            """)
+    int recordParagraphCompletion(
+            @Param("id") Long id,
+            @Param("points") int points,
+            @Param("credits") int credits,
+            @Param("accuracy") double accuracy,
+            @Param("scored") int scored,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Reserve the next paragraph order index of a session. The increment row-locks the session
+     * until the caller's transaction ends, so concurrent claims queue up and each reads back its
+     * own value. Must run inside a transaction.
+     */
+    default int claimOrderIndex(Long id) {
+        incrementNextOrderIndex(id);
+        return findNextOrderIndex(id) - 1;
+    }
+
+    // Not clearAutomatically: the caller keeps using its managed session, and nextOrderIndex is
+    // not updatable through the entity, so its stale value is never written back
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RandomSession rs SET rs.nextOrderIndex = rs.nextOrderIndex + 1 WHERE rs.id = :id")
+    int incrementNextOrderIndex(@Param("id") Long id);
+
+    @Query("SELECT rs.nextOrderIndex FROM RandomSession rs WHERE rs.id = :id")
+    int findNextOrderIndex(@Param("id") Long id);
+
+    @Query("SELECT rs.id FROM RandomSession rs WHERE rs.userId = :userId ORDER BY rs.createdAt DESC, rs.id DESC")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Keyset page of a user's session ids strictly after ({@code createdAt}, {@code id}), newest first.
+     */
+    @Query("""
+            SELECT rs.id FROM RandomSession rs
+            WHERE rs.userId = :userId
+              AND (rs.createdAt < :createdAt OR (rs.createdAt = :createdAt AND rs.id < :id))
+            ORDER BY rs.createdAt DESC, rs.id DESC
+            """)
+    List<Long> findIdsByUserIdBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Sessions with their paragraphs in one query; the caller restores the page order.
+     */
+    @Query("""
+            SELECT DISTINCT rs FROM RandomSession rs
+            LEFT JOIN FETCH rs.paragraphs rsp
+            LEFT JOIN FETCH rsp.paragraph
+            WHERE rs.id IN :ids
+            """)
+    List<RandomSession> findAllWithParagraphsByIdIn(@Param("ids") Collection<Long> ids);
 }
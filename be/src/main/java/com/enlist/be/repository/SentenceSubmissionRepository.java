@@ -1,9 +1,13 @@
 package com.enlist.be.repository;
 
+import com.enlist.be.dto.ErrorCountsByType;
 import com.enlist.be.entity.SentenceSubmission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +21,15 @@ public interface SentenceSubmissionRepository extends JpaRepository<SentenceSubm
     List<SentenceSubmission> findBySessionIdAndSentenceIndex(Long sessionId, Integer sentenceIndex);
 
     Optional<SentenceSubmission> findTopBySessionIdAndSentenceIndexOrderBySubmittedAtDesc(Long sessionId, Integer sentenceIndex);
+
+    @Query("SELECT new com.enlist.be.dto.ErrorCountsByType("
+            + "COALESCE(SUM(s.grammarErrorCount), 0), COALESCE(SUM(s.wordChoiceErrorCount), 0), "
+            + "COALESCE(SUM(s.naturalnessErrorCount), 0), COALESCE(SUM(s.errorCount), 0)) "
+            + "FROM SentenceSubmission s "
+            + "WHERE s.session.userId = :userId AND s.submittedAt >= :from AND s.submittedAt < :to")
+    ErrorCountsByType sumErrorCountsByUserIdBetween(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 }
@@ -2,6 +2,7 @@ package com.enlist.be.repository;
 
 import com.enlist.be.entity.SessionSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,8 +14,27 @@ public interface SessionSummaryRepository extends JpaRepository<SessionSummary,
 
     Optional<SessionSummary> findBySessionId(Long sessionId);
 
+    /** Summaries of a user's attempts at a paragraph, most recently completed first. */
     @Query("SELECT ss FROM SessionSummary ss WHERE ss.paragraphId = :paragraphId "
-            + "AND ss.userId = :userId ORDER BY ss.createdAt DESC")
-    List<SessionSummary> findByParagraphIdAndUserIdOrderByCreatedAtDesc(Long paragraphId,
-                                                                         Long userId);
+            + "AND ss.userId = :userId ORDER BY ss.session.completedAt DESC NULLS LAST, ss.id DESC")
+    List<SessionSummary> findByParagraphIdAndUserIdOrderByCompletedAtDesc(Long paragraphId,
+                                                                           Long userId);
+
+    /**
+     * Append one submission's errors to a session's summary without loading it; the breakdown
+     * is passed as a JSON array.
+     *
+     * @return the number of summaries updated, 0 if the session has none yet
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE session_summaries
+            SET total_errors = total_errors + :total,
+                grammar_errors = grammar_errors + :grammar,
+                word_choice_errors = word_choice_errors + :wordChoice,
+                naturalness_errors = naturalness_errors + :naturalness,
+                errors_json = COALESCE(errors_json, CAST('[]' AS jsonb)) || CAST(:errors AS jsonb)
+            WHERE session_id = :sessionId
+            """, nativeQuery = true)
+    int appendErrors(Long sessionId, int total, int grammar, int wordChoice, int naturalness, String errors);
 }
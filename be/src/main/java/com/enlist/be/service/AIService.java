@@ -5,6 +5,8 @@ import com.enlist.be.dto.GoodPoint;
 import com.enlist.be.dto.ScoreBreakdown;
 import com.enlist.be.dto.TranslationError;
 import com.enlist.be.dto.TranslationFeedback;
+import com.enlist.be.profiling.AICallEvent;
+import com.enlist.be.profiling.JsonParseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -64,6 +66,12 @@ public class AIService {
                 "temperature", groqConfig.getTemperature()
         );
 
+        AICallEvent callEvent = new AICallEvent();
+        callEvent.operation = "EVALUATE_TRANSLATION";
+        callEvent.model = groqConfig.getModel();
+        callEvent.promptLength = promptLength;
+        callEvent.begin();
+
         try {
             String response = groqClient.post()
                     .bodyValue(requestBody)
@@ -73,6 +81,9 @@ public class AIService {
 
             long latencyMs = System.currentTimeMillis() - startTime;
             int responseLength = response != null ? response.length() : 0;
+            callEvent.responseLength = responseLength;
+            callEvent.success = true;
+            callEvent.commit();
 
             TranslationFeedback feedback = parseResponse(response);
             
@@ -99,6 +110,9 @@ public class AIService {
         } catch (Exception e) {
             long latencyMs = System.currentTimeMillis() - startTime;
             log.error("Error calling Groq API: {}", e.getMessage(), e);
+            if (!callEvent.success) {
+                callEvent.commit();
+            }
             
             // Log failure metrics
             metricsService.logTranslationEvaluation(
@@ -239,6 +253,18 @@ public class AIService {
     }
 
     private TranslationFeedback parseResponse(String response) throws JsonProcessingException {
+        JsonParseEvent parseEvent = new JsonParseEvent();
+        parseEvent.target = "TranslationFeedback";
+        parseEvent.length = response != null ? response.length() : 0;
+        parseEvent.begin();
+        try {
+            return parseFeedback(response);
+        } finally {
+            parseEvent.commit();
+        }
+    }
+
+    private TranslationFeedback parseFeedback(String response) throws JsonProcessingException {
         JsonNode root = objectMapper.readTree(response);
         JsonNode choices = root.path("choices");
 
@@ -529,6 +555,12 @@ public class AIService {
                 "temperature", groqConfig.getWordTranslation().getTemperature()
         );
 
+        AICallEvent callEvent = new AICallEvent();
+        callEvent.operation = "TRANSLATE_WORD";
+        callEvent.model = groqConfig.getWordTranslation().getModel();
+        callEvent.promptLength = promptLength;
+        callEvent.begin();
+
         try {
             String response = groqClient.post()
                     .bodyValue(requestBody)
@@ -538,6 +570,9 @@ public class AIService {
 
             long latencyMs = System.currentTimeMillis() - startTime;
             int responseLength = response != null ? response.length() : 0;
+            callEvent.responseLength = responseLength;
+            callEvent.success = true;
+            callEvent.commit();
 
             log.info("Groq API response for word '{}': {}", word, response);
 
@@ -567,6 +602,9 @@ public class AIService {
         } catch (Exception e) {
             long latencyMs = System.currentTimeMillis() - startTime;
             log.error("Error translating word '{}': {}", word, e.getMessage(), e);
+            if (!callEvent.success) {
+                callEvent.commit();
+            }
             
             // Log failure metrics
             metricsService.logWordTranslation(promptLength, 0, latencyMs, false, e.getMessage());
@@ -633,6 +671,12 @@ public class AIService {
                 "temperature", groqConfig.getTemperature()
         );
 
+        AICallEvent callEvent = new AICallEvent();
+        callEvent.operation = "GENERATE_PARAGRAPH";
+        callEvent.model = groqConfig.getModel();
+        callEvent.promptLength = promptLength;
+        callEvent.begin();
+
         try {
             String response = groqClient.post()
                     .bodyValue(requestBody)
@@ -642,6 +686,10 @@ public class AIService {
 
             long latencyMs = System.currentTimeMillis() - startTime;
             int responseLength = response != null ? response.length() : 0;
+            callEvent.responseLength = responseLength;
+            callEvent.success = true;
+            callEvent.commit();
+
             String paragraph = extractParagraphFromResponse(response);
             
             // Log metrics
@@ -651,6 +699,9 @@ public class AIService {
         } catch (Exception e) {
             long latencyMs = System.currentTimeMillis() - startTime;
             log.error("Error generating paragraph: {}", e.getMessage(), e);
+            if (!callEvent.success) {
+                callEvent.commit();
+            }
             
             // Log failure metrics
             metricsService.logParagraphGeneration(promptLength, 0, latencyMs, false, e.getMessage(), difficultyLevel);
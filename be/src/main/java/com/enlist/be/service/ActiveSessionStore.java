@@ -0,0 +1,505 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.ActiveSessionConfig;
+import com.enlist.be.dto.SessionListItem;
+import com.enlist.be.entity.ParagraphSession;
+import com.enlist.be.exception.ConflictException;
+import com.enlist.be.repository.ParagraphSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Live state of in-progress sessions (position, points, credits and accuracy aggregates), kept
+ * in a Redis hash per session and written back to Postgres in the background.
+ *
+ * <p>Every change is a compare-and-set on the hash revision that also marks the session dirty and
+ * appends the new state to a journal stream. A change whose database transaction rolls back is
+ * reverted. A scheduled flush, run by one node at a time, writes dirty sessions to Postgres and
+ * trims the journal; status changes and completion are written through immediately. State left
+ * behind by a crash is flushed at startup, and the journal restores sessions whose hash was lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveSessionStore {
+
+    private static final String STATE_KEY_PREFIX = "session:active:";
+    private static final String DIRTY_KEY = "session:active:dirty";
+    private static final String FLUSH_LEASE = "session-active:flush";
+
+    private static final RedisScript<Long> INIT_IF_ABSENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // Dirty state must not expire before it is flushed. Returns the new revision followed by the
+    // replaced hash, or nothing on a conflict
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> COMPARE_AND_SET = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'revision') ~= ARGV[1] then
+                return {}
+            end
+            local previous = redis.call('HGETALL', KEYS[1])
+            local revision = tostring(tonumber(ARGV[1]) + 1)
+            redis.call('HSET', KEYS[1], 'revision', revision, unpack(ARGV, 4))
+            redis.call('PERSIST', KEYS[1])
+            redis.call('SADD', KEYS[2], ARGV[2])
+            redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[3], '*',
+                    'sessionId', ARGV[2], 'revision', revision, unpack(ARGV, 4))
+            table.insert(previous, 1, revision)
+            return previous
+            """, List.class);
+
+    // Restores the replaced state under a new revision, so writers that read the reverted state conflict
+    private static final RedisScript<Long> REVERT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'revision') ~= ARGV[1] then
+                return 0
+            end
+            local revision = tostring(tonumber(ARGV[1]) + 1)
+            redis.call('HSET', KEYS[1], 'revision', revision, unpack(ARGV, 4))
+            redis.call('SADD', KEYS[2], ARGV[2])
+            redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[3], '*',
+                    'sessionId', ARGV[2], 'revision', revision, unpack(ARGV, 4))
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> MARK_CLEAN = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'revision') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SREM', KEYS[2], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> TRIM_JOURNAL = new DefaultRedisScript<>(
+            "return redis.call('XTRIM', KEYS[1], 'MINID', ARGV[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ParagraphSessionRepository sessionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ActiveSessionConfig config;
+    private final ClusterLease clusterLease;
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    public void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Load the live state of a session into the entity, seeding Redis from the entity when the
+     * session is not active yet. Returns the revision to pass to {@link #save}.
+     */
+    public long attach(ParagraphSession session) {
+        String key = stateKey(session.getId());
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(config.getIdleTimeout().toMillis()));
+        State.of(session).toHash().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        redisTemplate.execute(INIT_IF_ABSENT, List.of(key), args.toArray());
+
+        State state = State.fromHash(redisTemplate.<String, String>opsForHash().entries(key));
+        state.applyTo(session);
+        return state.revision();
+    }
+
+    /**
+     * Overlay the live state, if any, on a session loaded for reading.
+     */
+    public void overlay(ParagraphSession session) {
+        if (session.getStatus() != ParagraphSession.Status.COMPLETED) {
+            find(session.getId()).ifPresent(state -> state.applyTo(session));
+        }
+    }
+
+    /**
+     * Overlay the live state on a list of sessions, reading all of it in one pipelined round trip.
+     */
+    public void overlayAll(List<ParagraphSession> sessions) {
+        List<ParagraphSession> live = sessions.stream()
+                .filter(session -> session.getStatus() != ParagraphSession.Status.COMPLETED)
+                .toList();
+        Map<Long, State> states = findAll(live.stream().map(ParagraphSession::getId).toList());
+        for (ParagraphSession session : live) {
+            State state = states.get(session.getId());
+            if (state != null) {
+                state.applyTo(session);
+            }
+        }
+    }
+
+    /**
+     * Overlay the live state on a page of listed sessions, in one pipelined round trip.
+     */
+    public void overlayItems(List<SessionListItem> items) {
+        List<SessionListItem> live = items.stream()
+                .filter(item -> !ParagraphSession.Status.COMPLETED.name().equals(item.getStatus()))
+                .toList();
+        Map<Long, State> states = findAll(live.stream().map(SessionListItem::getId).toList());
+        for (SessionListItem item : live) {
+            State state = states.get(item.getId());
+            if (state != null) {
+                state.applyTo(item);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, State> findAll(List<Long> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                sessionIds.forEach(sessionId -> strings.hGetAll(stateKey(sessionId)));
+                return null;
+            });
+            Map<Long, State> states = new HashMap<>();
+            for (int i = 0; i < sessionIds.size(); i++) {
+                Map<String, String> hash = (Map<String, String>) hashes.get(i);
+                if (hash != null && !hash.isEmpty()) {
+                    states.put(sessionIds.get(i), State.fromHash(hash));
+                }
+            }
+            return states;
+        } catch (DataAccessException e) {
+            log.warn("Could not read live state of {} sessions: {}", sessionIds.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private Optional<State> find(Long sessionId) {
+        try {
+            Map<String, String> hash = redisTemplate.<String, String>opsForHash().entries(stateKey(sessionId));
+            return hash.isEmpty() ? Optional.empty() : Optional.of(State.fromHash(hash));
+        } catch (DataAccessException e) {
+            log.warn("Could not read live state of session {}: {}", sessionId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store the entity's state if the session is still at {@code expectedRevision}. Inside a
+     * transaction, the change is reverted if the transaction rolls back.
+     *
+     * @throws ConflictException if another change got there first
+     */
+    @SuppressWarnings("unchecked")
+    public void save(ParagraphSession session, long expectedRevision) {
+        Long sessionId = session.getId();
+        List<String> result = redisTemplate.execute(COMPARE_AND_SET, stateKeys(sessionId),
+                stateArgs(expectedRevision, sessionId, State.of(session).toHash()));
+        if (result == null || result.isEmpty()) {
+            throw new ConflictException("Session " + sessionId + " was modified concurrently");
+        }
+
+        long revision = Long.parseLong(result.get(0));
+        session.setStateRevision(revision);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<String, String> previous = new LinkedHashMap<>();
+            for (int i = 1; i + 1 < result.size(); i += 2) {
+                previous.put(result.get(i), result.get(i + 1));
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        revert(sessionId, revision, previous);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Put back the state a rolled-back change replaced. If another change has been stored on top
+     * of it since, that change was based on state that never committed, so the live state is
+     * dropped and the session reloads from Postgres on its next use.
+     */
+    private void revert(Long sessionId, long revision, Map<String, String> previous) {
+        try {
+            Long reverted = redisTemplate.execute(REVERT, stateKeys(sessionId),
+                    stateArgs(revision, sessionId, previous));
+            if (reverted == null || reverted == 0) {
+                log.warn("Session {} changed after revision {} rolled back; dropping its live state",
+                        sessionId, revision);
+                redisTemplate.opsForSet().remove(DIRTY_KEY, String.valueOf(sessionId));
+                redisTemplate.delete(stateKey(sessionId));
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to revert live state of session {} after a rollback", sessionId, e);
+        }
+    }
+
+    private List<String> stateKeys(Long sessionId) {
+        return List.of(stateKey(sessionId), DIRTY_KEY, config.getJournalKey());
+    }
+
+    private Object[] stateArgs(long revision, Long sessionId, Map<String, String> hash) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(revision));
+        args.add(String.valueOf(sessionId));
+        args.add(String.valueOf(config.getMaxJournalLength()));
+        hash.forEach((field, value) -> {
+            if (!"revision".equals(field)) {
+                args.add(field);
+                args.add(value);
+            }
+        });
+        return args.toArray();
+    }
+
+    /**
+     * Write the entity's state to Postgres now, for changes that must be durable immediately.
+     */
+    public void writeThrough(ParagraphSession session) {
+        writeState(session.getId(), State.of(session), session.getCompletedAt());
+    }
+
+    /**
+     * Drop a finished session from Redis once its final state has committed.
+     */
+    public void evictAfterCommit(Long sessionId) {
+        Runnable evict = () -> {
+            redisTemplate.opsForSet().remove(DIRTY_KEY, String.valueOf(sessionId));
+            redisTemplate.delete(stateKey(sessionId));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        try {
+            clusterLease.runExclusively(FLUSH_LEASE, config.getFlushLease(), () -> {
+                int restored = replayJournal();
+                if (restored > 0) {
+                    log.info("Restored {} sessions from the session journal", restored);
+                }
+                flushDirty();
+            });
+        } catch (DataAccessException e) {
+            log.error("Recovering active session state failed", e);
+        }
+    }
+
+    /**
+     * Write dirty sessions back to Postgres. Nodes take turns through a lease, so two nodes never
+     * flush the same session or trim the journal under each other.
+     */
+    @Scheduled(fixedDelayString = "${session.active.flush-interval-ms:30000}")
+    public void flush() {
+        clusterLease.runExclusively(FLUSH_LEASE, config.getFlushLease(), this::flushDirty);
+    }
+
+    private void flushDirty() {
+        // Every journal entry up to here belongs to a session that is dirty now
+        String checkpoint = latestJournalId();
+        Set<String> dirty = redisTemplate.opsForSet().members(DIRTY_KEY);
+        if (dirty == null || dirty.isEmpty()) {
+            trimJournal(checkpoint);
+            return;
+        }
+
+        boolean complete = true;
+        boolean missingState = false;
+        int flushed = 0;
+        for (String sessionId : dirty) {
+            try {
+                Map<String, String> hash = redisTemplate.<String, String>opsForHash().entries(stateKey(sessionId));
+                if (hash.isEmpty()) {
+                    missingState = true;
+                    redisTemplate.opsForSet().remove(DIRTY_KEY, sessionId);
+                    continue;
+                }
+                State state = State.fromHash(hash);
+                persist(Long.valueOf(sessionId), state);
+                redisTemplate.execute(MARK_CLEAN, List.of(stateKey(sessionId), DIRTY_KEY),
+                        String.valueOf(state.revision()), sessionId,
+                        String.valueOf(config.getIdleTimeout().toMillis()));
+                flushed++;
+            } catch (DataAccessException e) {
+                complete = false;
+                log.warn("Failed to flush session {}: {}", sessionId, e.getMessage());
+            }
+        }
+
+        if (missingState) {
+            replayJournal();
+        }
+        if (complete) {
+            trimJournal(checkpoint);
+        }
+        log.debug("Flushed {} of {} dirty sessions", flushed, dirty.size());
+    }
+
+    /**
+     * Write the latest journaled state of every session whose Redis hash no longer exists.
+     */
+    private int replayJournal() {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(config.getJournalKey(), Range.unbounded());
+        if (records == null || records.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, State> latest = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> journalRecord : records) {
+            Map<String, String> fields = new HashMap<>();
+            journalRecord.getValue().forEach((field, value) -> fields.put(field.toString(), value.toString()));
+            String sessionId = fields.get("sessionId");
+            State state = State.fromHash(fields);
+            State known = latest.get(sessionId);
+            if (known == null || known.revision() < state.revision()) {
+                latest.put(sessionId, state);
+            }
+        }
+
+        int restored = 0;
+        for (Map.Entry<String, State> entry : latest.entrySet()) {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(stateKey(entry.getKey())))) {
+                continue;
+            }
+            persist(Long.valueOf(entry.getKey()), entry.getValue());
+            restored++;
+        }
+        return restored;
+    }
+
+    private void persist(Long sessionId, State state) {
+        transaction.executeWithoutResult(status -> writeState(sessionId, state, null));
+    }
+
+    private void writeState(Long sessionId, State state, LocalDateTime completedAt) {
+        sessionRepository.writeState(sessionId, state.status(), state.currentSentenceIndex(), state.totalPoints(),
+                state.totalCredits(), state.accuracySum(), state.scoredCount(), state.completedSentences(),
+                state.completedSentenceCount(), completedAt, state.revision());
+    }
+
+    private String latestJournalId() {
+        List<MapRecord<String, Object, Object>> last = redisTemplate.opsForStream()
+                .reverseRange(config.getJournalKey(), Range.unbounded(), Limit.limit().count(1));
+        return last == null || last.isEmpty() ? null : last.get(0).getId().getValue();
+    }
+
+    private void trimJournal(String checkpoint) {
+        if (checkpoint != null) {
+            redisTemplate.execute(TRIM_JOURNAL, List.of(config.getJournalKey()), checkpoint);
+        }
+    }
+
+    private static String stateKey(Object sessionId) {
+        return STATE_KEY_PREFIX + sessionId;
+    }
+
+    private record State(ParagraphSession.Status status, int currentSentenceIndex, int totalPoints,
+                         int totalCredits, double accuracySum, int scoredCount, byte[] completedSentences,
+                         int completedSentenceCount, long revision) {
+
+        static State of(ParagraphSession session) {
+            return new State(
+                    session.getStatus(),
+                    session.getCurrentSentenceIndex(),
+                    session.getTotalPoints(),
+                    session.getTotalCredits(),
+                    session.getAccuracySum(),
+                    session.getScoredCount(),
+                    session.getCompletedSentences(),
+                    session.getCompletedSentenceCount(),
+                    session.getStateRevision() != null ? session.getStateRevision() : 0L);
+        }
+
+        static State fromHash(Map<String, String> hash) {
+            return new State(
+                    ParagraphSession.Status.valueOf(hash.get("status")),
+                    Integer.parseInt(hash.get("currentSentenceIndex")),
+                    Integer.parseInt(hash.get("totalPoints")),
+                    Integer.parseInt(hash.get("totalCredits")),
+                    Double.parseDouble(hash.get("accuracySum")),
+                    Integer.parseInt(hash.get("scoredCount")),
+                    Base64.getDecoder().decode(hash.get("completedSentences")),
+                    Integer.parseInt(hash.get("completedSentenceCount")),
+                    Long.parseLong(hash.get("revision")));
+        }
+
+        Map<String, String> toHash() {
+            Map<String, String> hash = new LinkedHashMap<>();
+            hash.put("status", status.name());
+            hash.put("currentSentenceIndex", String.valueOf(currentSentenceIndex));
+            hash.put("totalPoints", String.valueOf(totalPoints));
+            hash.put("totalCredits", String.valueOf(totalCredits));
+            hash.put("accuracySum", String.valueOf(accuracySum));
+            hash.put("scoredCount", String.valueOf(scoredCount));
+            hash.put("completedSentences", Base64.getEncoder().encodeToString(completedSentences));
+            hash.put("completedSentenceCount", String.valueOf(completedSentenceCount));
+            hash.put("revision", String.valueOf(revision));
+            return hash;
+        }
+
+        void applyTo(ParagraphSession session) {
+            session.setStatus(status);
+            session.setCurrentSentenceIndex(currentSentenceIndex);
+            session.setTotalPoints(totalPoints);
+            session.setTotalCredits(totalCredits);
+            session.setAccuracySum(accuracySum);
+            session.setScoredCount(scoredCount);
+            session.setCompletedSentences(completedSentences);
+            session.setCompletedSentenceCount(completedSentenceCount);
+            session.setStateRevision(revision);
+        }
+
+        void applyTo(SessionListItem item) {
+            item.setStatus(status.name());
+            item.setCurrentSentenceIndex(currentSentenceIndex);
+            item.setTotalPoints(totalPoints);
+            item.setTotalCredits(totalCredits);
+            item.setCompletedSentences(completedSentenceCount);
+            item.setAverageAccuracy(scoredCount == 0 ? 0.0 : accuracySum / scoredCount);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.enlist.be.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Named leases in Redis for scheduled work that should run on one node of the cluster at a time.
+ * A lease is taken with SET NX PX under a random token and only released by its holder, so a
+ * holder that outlives its lease never frees one another node has since taken. A holder that dies
+ * loses the lease once it expires.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClusterLease {
+
+    private static final String KEY_PREFIX = "lease:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Run {@code task} if this node takes lease {@code name}, and release the lease afterwards.
+     *
+     * @param ttl how long the lease is held if it is not released; must outlast the task
+     * @return false if another node holds the lease and the task was not run
+     */
+    public boolean runExclusively(String name, Duration ttl, Runnable task) {
+        String key = KEY_PREFIX + name;
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, ttl))) {
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            redisTemplate.execute(RELEASE, List.of(key), token);
+        }
+        return true;
+    }
+}
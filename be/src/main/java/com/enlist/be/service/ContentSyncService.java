@@ -0,0 +1,276 @@
+package com.enlist.be.service;
+
+import com.enlist.be.converter.StringListConverter;
+import com.enlist.be.dto.ParagraphSource;
+import com.enlist.be.entity.Paragraph;
+import com.enlist.be.util.ParagraphMarkdownParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the paragraphs table in line with the curated markdown content. Each file is matched to
+ * its row by source path, and only files whose hash differs from the stored one are written, in
+ * JDBC batches; the catalog then re-reads every file its copy is out of date for. Files that
+ * disappear leave their paragraph in place, since sessions may point at it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentSyncService {
+
+    private static final String CONTENT_ROOT = "content/paragraphs/";
+    /** Source paths of files from {@code content.external-dir}, kept apart from the bundled ones. */
+    public static final String EXTERNAL_PREFIX = "ext:";
+    private static final int BATCH_SIZE = 200;
+
+    private static final String LEGACY_SQL = """
+            SELECT id, title, content FROM paragraphs
+            WHERE source_path IS NULL AND topic IS DISTINCT FROM ?
+            """;
+
+    private static final String ADOPT_SQL = """
+            UPDATE paragraphs SET source_path = ?
+            WHERE id = ? AND source_path IS NULL
+            """;
+
+    /** Rows whose content is unchanged, e.g. adopted legacy rows, keep the split their sessions index into. */
+    private static final String SESSIONS_SQL = """
+            SELECT s.id FROM paragraph_sessions s
+            JOIN paragraphs p ON p.id = s.paragraph_id
+            WHERE p.source_path = ANY (?)
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO paragraphs (source_path, content_hash, title, topic, difficulty, content,
+                                    sentences, sentence_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (source_path) DO UPDATE SET
+                content_hash = EXCLUDED.content_hash,
+                title = EXCLUDED.title,
+                topic = EXCLUDED.topic,
+                difficulty = EXCLUDED.difficulty,
+                content = EXCLUDED.content,
+                sentences = CASE WHEN paragraphs.content = EXCLUDED.content
+                                 THEN paragraphs.sentences ELSE EXCLUDED.sentences END,
+                sentence_count = CASE WHEN paragraphs.content = EXCLUDED.content
+                                      THEN paragraphs.sentence_count ELSE EXCLUDED.sentence_count END,
+                updated_at = EXCLUDED.updated_at
+            WHERE paragraphs.content_hash IS DISTINCT FROM EXCLUDED.content_hash
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StringListConverter sentenceConverter = new StringListConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ParagraphCatalog paragraphCatalog;
+    private final SessionViewCache sessionViewCache;
+
+    /**
+     * Sync the content shipped on the classpath, from the build-time index when it is present.
+     *
+     * @return the number of paragraphs inserted or updated
+     */
+    public int syncBundledContent() {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource index = resolver.getResource("classpath:" + CONTENT_ROOT + ParagraphMarkdownParser.INDEX_FILE);
+        List<ParagraphSource> sources;
+        if (index.exists()) {
+            try (InputStream in = index.getInputStream()) {
+                sources = List.of(objectMapper.readValue(in, ParagraphSource[].class));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read content index", e);
+            }
+        } else {
+            sources = scanClasspath(resolver);
+        }
+        return sync(sources);
+    }
+
+    /**
+     * Parse paragraph files under {@code root} in parallel; files that fail to parse are logged
+     * and left out. Source paths get {@link #EXTERNAL_PREFIX}, so an external file never takes
+     * over the row of a bundled file at the same relative path.
+     */
+    public List<ParagraphSource> parseFiles(Path root, Collection<Path> files) {
+        return files.parallelStream()
+                .map(file -> parseQuietly(root, file))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Upsert the given paragraphs, skipping those whose stored hash already matches, and refresh
+     * the catalog wherever its copy differs from the source, including rows another node synced.
+     *
+     * @return the number of paragraphs inserted or updated
+     */
+    public synchronized int sync(List<ParagraphSource> sources) {
+        List<String> stale = paragraphCatalog.staleSources(sources);
+        int synced = upsertChanged(sources);
+        if (!stale.isEmpty()) {
+            paragraphCatalog.refreshSources(stale);
+        }
+        return synced;
+    }
+
+    private int upsertChanged(List<ParagraphSource> sources) {
+        Map<String, String> storedHashes = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT source_path, content_hash FROM paragraphs WHERE source_path IS NOT NULL")) {
+            storedHashes.put((String) row.get("source_path"), (String) row.get("content_hash"));
+        }
+
+        List<ParagraphSource> changed = sources.stream()
+                .filter(source -> !Objects.equals(source.contentHash(), storedHashes.get(source.sourcePath())))
+                .toList();
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> adoptions = adoptions(changed.stream()
+                .filter(source -> !storedHashes.containsKey(source.sourcePath()))
+                .toList());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> upserts = new ArrayList<>(changed.size());
+        for (ParagraphSource source : changed) {
+            upserts.add(new Object[]{
+                    source.sourcePath(), source.contentHash(), source.title(), source.topic(),
+                    source.difficulty(), source.content(),
+                    sentenceConverter.convertToDatabaseColumn(source.sentences()), source.sentences().size(),
+                    now, now});
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            batchUpdate(ADOPT_SQL, adoptions);
+            batchUpdate(UPSERT_SQL, upserts);
+        });
+        log.info("Synced {} changed paragraphs out of {}", changed.size(), sources.size());
+        evictSessionViews(changed);
+        return changed.size();
+    }
+
+    /**
+     * Rows seeded before source paths existed are claimed by new files instead of duplicated. A
+     * title shared by one row and one file is enough; when several rows or files share a title,
+     * only exact content matches are claimed, and the rest are logged and inserted as new rows.
+     *
+     * @return {@code [source path, row id]} pairs for {@link #ADOPT_SQL}
+     */
+    private List<Object[]> adoptions(List<ParagraphSource> added) {
+        if (added.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Map<String, Object>>> legacyByTitle = jdbcTemplate
+                .queryForList(LEGACY_SQL, Paragraph.AI_GENERATED_TOPIC).stream()
+                .collect(Collectors.groupingBy(row -> (String) row.get("title")));
+        if (legacyByTitle.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> adoptions = new ArrayList<>();
+        added.stream().collect(Collectors.groupingBy(ParagraphSource::title)).forEach((title, sources) -> {
+            List<Map<String, Object>> rows = legacyByTitle.getOrDefault(title, List.of());
+            if (rows.size() == 1 && sources.size() == 1) {
+                adoptions.add(new Object[]{sources.getFirst().sourcePath(), rows.getFirst().get("id")});
+                return;
+            }
+            Set<Object> claimed = new HashSet<>();
+            for (ParagraphSource source : sources) {
+                rows.stream()
+                        .filter(row -> !claimed.contains(row.get("id")))
+                        .filter(row -> source.content().equals(((String) row.get("content")).strip()))
+                        .findFirst()
+                        .ifPresentOrElse(row -> {
+                            claimed.add(row.get("id"));
+                            adoptions.add(new Object[]{source.sourcePath(), row.get("id")});
+                        }, () -> {
+                            if (!rows.isEmpty()) {
+                                log.warn("Not adopting an existing paragraph for {}: {} rows and {} files are titled "
+                                        + "'{}' and none matches its content", source.sourcePath(), rows.size(),
+                                        sources.size(), title);
+                            }
+                        });
+            }
+        });
+        return adoptions;
+    }
+
+    /**
+     * Cached session views embed the paragraph, so drop those of sessions on the changed ones;
+     * the next poll renders them again.
+     */
+    private void evictSessionViews(List<ParagraphSource> changed) {
+        String[] sourcePaths = changed.stream().map(ParagraphSource::sourcePath).toArray(String[]::new);
+        List<Long> sessionIds = jdbcTemplate.queryForList(SESSIONS_SQL, Long.class, (Object) sourcePaths);
+        if (!sessionIds.isEmpty()) {
+            sessionViewCache.evict(sessionIds);
+        }
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private List<ParagraphSource> scanClasspath(PathMatchingResourcePatternResolver resolver) {
+        Resource[] resources;
+        try {
+            resources = resolver.getResources("classpath:" + CONTENT_ROOT + "**/*.md");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list paragraph content", e);
+        }
+        return Arrays.stream(resources)
+                .parallel()
+                .map(this::parseQuietly)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private ParagraphSource parseQuietly(Path root, Path file) {
+        String sourcePath = EXTERNAL_PREFIX + root.relativize(file).toString().replace('\\', '/');
+        try {
+            return ParagraphMarkdownParser.parse(sourcePath, Files.readAllBytes(file));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to parse markdown file: {}", file, e);
+            return null;
+        }
+    }
+
+    private ParagraphSource parseQuietly(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            String url = resource.getURL().toString();
+            String sourcePath = url.substring(url.lastIndexOf(CONTENT_ROOT) + CONTENT_ROOT.length());
+            return ParagraphMarkdownParser.parse(sourcePath, in.readAllBytes());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to parse markdown file: {}", resource.getFilename(), e);
+            return null;
+        }
+    }
+}
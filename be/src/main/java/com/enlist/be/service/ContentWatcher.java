@@ -0,0 +1,166 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.ContentConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Hot-reloads curated paragraphs from {@code content.external-dir}, when configured. The whole
+ * directory is synced once at startup; after that, created and modified markdown files are
+ * collected until the directory has been quiet for {@code content.watch-debounce}, then parsed
+ * and synced together, so a bulk copy results in a single sync and catalog refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class ContentWatcher {
+
+    private final ContentConfig contentConfig;
+    private final ContentSyncService contentSyncService;
+
+    private volatile WatchService watchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String externalDir = contentConfig.getExternalDir();
+        if (externalDir == null || externalDir.isBlank()) {
+            return;
+        }
+        Path root = Path.of(externalDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            log.warn("Content directory {} does not exist, not watching it", root);
+            return;
+        }
+
+        try {
+            watchService = root.getFileSystem().newWatchService();
+            registerTree(root);
+        } catch (IOException e) {
+            log.error("Failed to watch content directory {}", root, e);
+            return;
+        }
+        Thread.ofVirtual().name("content-watcher").start(() -> watch(root));
+        log.info("Watching {} for paragraph content changes", root);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch(Path root) {
+        boolean fullSync = !syncAll(root);
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> changed = new HashSet<>();
+                while (key != null) {
+                    fullSync |= collect(key, changed);
+                    key = watchService.poll(contentConfig.getWatchDebounce().toMillis(), TimeUnit.MILLISECONDS);
+                }
+
+                // A failed sync is retried in full on the next change, since its files are not known any more
+                fullSync = fullSync ? !syncAll(root) : !sync(root, changed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Record the markdown files touched in one batch of events.
+     *
+     * @return true if events were lost and the directory has to be rescanned
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        Path dir = (Path) key.watchable();
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (Files.isDirectory(path)) {
+                // Files copied in along with a new directory raise no events of their own
+                try {
+                    registerTree(path);
+                    changed.addAll(markdownFiles(path));
+                } catch (IOException e) {
+                    log.warn("Failed to watch new content directory {}", path, e);
+                    overflow = true;
+                }
+            } else if (isMarkdown(path)) {
+                changed.add(path);
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    private boolean syncAll(Path root) {
+        try {
+            return sync(root, markdownFiles(root));
+        } catch (IOException e) {
+            log.error("Failed to list content directory {}", root, e);
+            return false;
+        }
+    }
+
+    private boolean sync(Path root, Set<Path> files) {
+        List<Path> existing = files.stream().filter(Files::isRegularFile).toList();
+        if (existing.isEmpty()) {
+            return true;
+        }
+        try {
+            contentSyncService.sync(contentSyncService.parseFiles(root, existing));
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to sync {} paragraph files from {}", existing.size(), root, e);
+            return false;
+        }
+    }
+
+    private void registerTree(Path dir) throws IOException {
+        try (Stream<Path> dirs = Files.walk(dir)) {
+            for (Path subdir : dirs.filter(Files::isDirectory).toList()) {
+                subdir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    private static Set<Path> markdownFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return new HashSet<>(files.filter(ContentWatcher::isMarkdown).toList());
+        }
+    }
+
+    private static boolean isMarkdown(Path path) {
+        return path.getFileName().toString().endsWith(".md");
+    }
+}
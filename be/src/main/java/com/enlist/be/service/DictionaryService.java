@@ -1,10 +1,13 @@
 package com.enlist.be.service;
 
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.DictionaryWordRequest;
 import com.enlist.be.dto.DictionaryWordResponse;
 import com.enlist.be.entity.DictionaryWord;
 import com.enlist.be.repository.DictionaryWordRepository;
+import com.enlist.be.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +17,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DictionaryService {
 
+    private static final String USER_DICTIONARY_SORT = "createdAt:desc";
+
     private final DictionaryWordRepository dictionaryWordRepository;
 
     @Transactional
@@ -44,6 +49,28 @@ public class DictionaryService {
                 .toList();
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getUserDictionary}, newest first.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<DictionaryWordResponse> getUserDictionaryPage(
+            Long userId, String cursor, int size, boolean includeTotal) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, USER_DICTIONARY_SORT);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<DictionaryWord> words = after == null
+                ? dictionaryWordRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : dictionaryWordRepository.findByUserIdBefore(userId, after.timestamp(), after.id(), limit);
+
+        CursorPageResponse<DictionaryWordResponse> page = CursorPageResponse.fromRows(words, pageSize,
+                DictionaryWordResponse::fromEntity,
+                word -> KeysetCursor.of(USER_DICTIONARY_SORT, word.getCreatedAt(), word.getId()).encode());
+        if (includeTotal) {
+            page.setTotal(dictionaryWordRepository.countByUserId(userId));
+        }
+        return page;
+    }
+
     @Transactional(readOnly = true)
     public List<DictionaryWordResponse> getSessionDictionary(Long userId, Long sessionId) {
         return dictionaryWordRepository.findByUserIdAndSessionIdOrderByCreatedAtDesc(userId, sessionId)
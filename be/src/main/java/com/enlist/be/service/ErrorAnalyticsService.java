@@ -1,7 +1,9 @@
 package com.enlist.be.service;
 
+import com.enlist.be.dto.ErrorCountsByType;
 import com.enlist.be.entity.ErrorAnalytics;
 import com.enlist.be.repository.ErrorAnalyticsRepository;
+import com.enlist.be.repository.SentenceSubmissionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +19,7 @@ import java.util.stream.Collectors;
 public class ErrorAnalyticsService {
 
     private final ErrorAnalyticsRepository errorAnalyticsRepository;
+    private final SentenceSubmissionRepository submissionRepository;
 
     @Transactional(readOnly = true)
     public Map<String, Object> getErrorDistribution(Long userId) {
@@ -57,34 +60,26 @@ public class ErrorAnalyticsService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Errors made in the last {@code days} days compared with the period before, by category.
+     * Each submission's errors count towards the day it was submitted; error_analytics only keeps
+     * a running count per category, which used to be attributed entirely to its last occurrence.
+     */
     @Transactional(readOnly = true)
     public Map<String, Object> getErrorTrend(Long userId, int days) {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startDate = now.minusDays(days);
         LocalDateTime previousPeriodStart = startDate.minusDays(days);
-        
-        List<ErrorAnalytics> recentErrors = errorAnalyticsRepository
-                .findByUserIdAndLastOccurrenceAfter(userId, startDate);
-        List<ErrorAnalytics> previousErrors = errorAnalyticsRepository
-                .findByUserIdAndLastOccurrenceAfter(userId, previousPeriodStart);
-
-        Map<String, Integer> trendByType = new HashMap<>();
-        Map<String, Integer> previousByType = new HashMap<>();
-        int totalRecentErrors = 0;
-        int totalPreviousErrors = 0;
 
-        for (ErrorAnalytics error : recentErrors) {
-            String type = error.getErrorType().name();
-            trendByType.put(type, trendByType.getOrDefault(type, 0) + error.getCount());
-            totalRecentErrors += error.getCount();
-        }
+        // Summed in the database from the per-submission error count columns
+        ErrorCountsByType recentCounts = submissionRepository.sumErrorCountsByUserIdBetween(userId, startDate, now);
+        ErrorCountsByType previousCounts = submissionRepository.sumErrorCountsByUserIdBetween(
+                userId, previousPeriodStart, startDate);
 
-        for (ErrorAnalytics error : previousErrors) {
-            if (error.getLastOccurrence().isBefore(startDate)) {
-                String type = error.getErrorType().name();
-                previousByType.put(type, previousByType.getOrDefault(type, 0) + error.getCount());
-                totalPreviousErrors += error.getCount();
-            }
-        }
+        Map<String, Integer> trendByType = countsByType(recentCounts);
+        Map<String, Integer> previousByType = countsByType(previousCounts);
+        int totalRecentErrors = trendByType.values().stream().mapToInt(Integer::intValue).sum();
+        int totalPreviousErrors = previousByType.values().stream().mapToInt(Integer::intValue).sum();
 
         Map<String, Double> trendChange = new HashMap<>();
         for (String type : trendByType.keySet()) {
@@ -158,6 +153,20 @@ public class ErrorAnalyticsService {
         return analytics;
     }
 
+    private Map<String, Integer> countsByType(ErrorCountsByType counts) {
+        Map<String, Integer> byType = new HashMap<>();
+        putIfPositive(byType, ErrorAnalytics.ErrorType.GRAMMAR, counts.getGrammarErrors());
+        putIfPositive(byType, ErrorAnalytics.ErrorType.WORD_CHOICE, counts.getWordChoiceErrors());
+        putIfPositive(byType, ErrorAnalytics.ErrorType.NATURALNESS, counts.getNaturalnessErrors());
+        return byType;
+    }
+
+    private void putIfPositive(Map<String, Integer> byType, ErrorAnalytics.ErrorType type, Long count) {
+        if (count != null && count > 0) {
+            byType.put(type.name(), count.intValue());
+        }
+    }
+
     private String calculateSeverity(double percentage) {
         if (percentage >= 30.0) return "high";
         if (percentage >= 20.0) return "medium";
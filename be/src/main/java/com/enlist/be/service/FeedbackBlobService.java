@@ -0,0 +1,119 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.FeedbackPayload;
+import com.enlist.be.entity.FeedbackBlob;
+import com.enlist.be.entity.SentenceSubmission;
+import com.enlist.be.repository.FeedbackBlobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed storage for submission feedback. Identical payloads (canned gibberish,
+ * failure and perfect-score feedback, repeated evaluations of popular sentences) are stored
+ * once, and the most recently used blobs are kept decoded in memory.
+ */
+@Service
+public class FeedbackBlobService {
+
+    private final FeedbackBlobRepository blobRepository;
+    private final Map<String, FeedbackPayload> cache;
+
+    public FeedbackBlobService(FeedbackBlobRepository blobRepository,
+                               @Value("${feedback.blob-cache-size:10000}") int cacheSize) {
+        this.blobRepository = blobRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FeedbackPayload> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Fill in the feedback of loaded submissions, reading blobs missing from the cache in one query.
+     */
+    public void resolve(Collection<SentenceSubmission> submissions) {
+        Set<String> missing = submissions.stream()
+                .filter(submission -> submission.getFeedback() == null && submission.getFeedbackHash() != null)
+                .map(SentenceSubmission::getFeedbackHash)
+                .filter(hash -> cache.get(hash) == null)
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            for (FeedbackBlob blob : blobRepository.findAllById(missing)) {
+                cache.put(blob.getHash(), FeedbackPayload.fromBytes(blob.getPayload()));
+            }
+        }
+
+        for (SentenceSubmission submission : submissions) {
+            if (submission.getFeedback() == null) {
+                submission.setFeedback(submission.getFeedbackHash() != null
+                        ? cache.get(submission.getFeedbackHash())
+                        : submission.getLegacyFeedback());
+            }
+        }
+    }
+
+    /**
+     * Store the payload if no identical one exists yet and return its hash.
+     */
+    public String store(FeedbackPayload payload) {
+        byte[] bytes = payload.toBytes();
+        String hash = hash(bytes);
+        if (cache.get(hash) == null) {
+            blobRepository.insertIfAbsent(hash, bytes);
+            cacheAfterCommit(hash, payload);
+        }
+        return hash;
+    }
+
+    public FeedbackPayload load(String hash) {
+        if (hash == null) {
+            return null;
+        }
+        FeedbackPayload cached = cache.get(hash);
+        if (cached != null) {
+            return cached;
+        }
+        return blobRepository.findById(hash)
+                .map(blob -> {
+                    FeedbackPayload payload = FeedbackPayload.fromBytes(blob.getPayload());
+                    cache.put(hash, payload);
+                    return payload;
+                })
+                .orElse(null);
+    }
+
+    public static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // A blob inserted by a transaction that later rolls back must not be treated as stored
+    private void cacheAfterCommit(String hash, FeedbackPayload payload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(hash, payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(hash, payload);
+            }
+        });
+    }
+}
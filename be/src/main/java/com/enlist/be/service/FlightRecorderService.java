@@ -0,0 +1,135 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.FlightRecorderConfig;
+import com.enlist.be.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Controls a single bounded, continuous JDK Flight Recorder recording.
+ * The recording keeps at most maxAge/maxSize of data on disk, so it can stay on in production.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FlightRecorderService {
+
+    private static final String RECORDING_NAME = "enlist-continuous";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderConfig config;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void init() {
+        Path directory = dumpDirectory();
+        if (directory != null && !directory.isAbsolute()) {
+            throw new IllegalStateException(
+                    "profiling.jfr.dump-directory must be an absolute path, got: " + config.getDumpDirectory());
+        }
+        if (config.isStartOnBoot()) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized RecordingStatus start() {
+        if (isRunning()) {
+            return status();
+        }
+
+        try {
+            Configuration settings = Configuration.getConfiguration(config.getSettings());
+            Recording newRecording = new Recording(settings);
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(config.getMaxAge());
+            newRecording.setMaxSize(config.getMaxSize().toBytes());
+            newRecording.start();
+            recording = newRecording;
+            log.info("Started flight recording '{}' (settings: {}, maxAge: {}, maxSize: {})",
+                    RECORDING_NAME, config.getSettings(), config.getMaxAge(), config.getMaxSize());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to start flight recording: " + e.getMessage(), e);
+        }
+
+        return status();
+    }
+
+    public synchronized RecordingStatus stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Stopped flight recording '{}'", RECORDING_NAME);
+        }
+        return status();
+    }
+
+    /**
+     * Write the data currently held by the running recording to a new .jfr file.
+     */
+    public synchronized Path dump() {
+        if (!isRunning()) {
+            throw new BadRequestException("No flight recording is running");
+        }
+        Path directory = dumpDirectory();
+        if (directory == null) {
+            throw new BadRequestException("No dump directory is configured (profiling.jfr.dump-directory)");
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve("enlist-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            recording.dump(file);
+            log.info("Dumped flight recording to {}", file);
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to dump flight recording: " + e.getMessage(), e);
+        }
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return new RecordingStatus(false, null, null, 0);
+        }
+        return new RecordingStatus(
+            isRunning(),
+            recording.getState().name(),
+            recording.getStartTime(),
+            recording.getSize()
+        );
+    }
+
+    private Path dumpDirectory() {
+        String directory = config.getDumpDirectory();
+        return directory == null || directory.isBlank() ? null : Path.of(directory).normalize();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public record RecordingStatus(boolean running, String state, Instant startedAt, long sizeBytes) {}
+}
@@ -0,0 +1,164 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.IdempotencyConfig;
+import com.enlist.be.exception.BadRequestException;
+import com.enlist.be.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per client-supplied {@code Idempotency-Key}. The first request
+ * claims the key in Redis and stores its response; repeats replay that response, and a repeat
+ * that arrives while the first is still running waits for it. A failed request releases the key
+ * so the client can retry.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long INITIAL_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final IdempotencyConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public enum State {
+        IN_FLIGHT,
+        COMPLETED
+    }
+
+    public record Entry(State state, String fingerprint, JsonNode response) {
+    }
+
+    public record Result<T>(T response, boolean replayed) {
+    }
+
+    /**
+     * @param scope   what the key applies to, e.g. {@code "submit:42"}; keys are also scoped per user
+     * @param request the request body, used to reject a key reused for a different request
+     */
+    public <T> Result<T> execute(Long userId, String scope, String idempotencyKey, Object request,
+                                 Class<T> responseType, Supplier<T> action) {
+        String key = key(userId, scope, idempotencyKey);
+        String fingerprint = fingerprint(request);
+
+        long deadline = System.nanoTime() + config.getWaitTimeout().toNanos();
+        long pauseMillis = INITIAL_POLL_MILLIS;
+        while (true) {
+            String claim = toJson(new Entry(State.IN_FLIGHT, fingerprint, null));
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, claim, config.getInFlightTtl()))) {
+                return new Result<>(runAndStore(key, fingerprint, action), false);
+            }
+
+            Entry entry = read(key);
+            if (entry != null) {
+                if (!entry.fingerprint().equals(fingerprint)) {
+                    throw new BadRequestException("Idempotency-Key was already used for a different request");
+                }
+                if (entry.state() == State.COMPLETED) {
+                    return new Result<>(fromJson(entry.response(), responseType), true);
+                }
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new ConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            // A missing entry means the first request failed and released the key; claim it now
+            if (entry != null) {
+                pause(pauseMillis);
+                pauseMillis = Math.min(pauseMillis * 2, MAX_POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * The stored response of a completed request, without claiming the key.
+     */
+    public <T> Optional<T> findCompleted(Long userId, String scope, String idempotencyKey, Class<T> responseType) {
+        Entry entry = read(key(userId, scope, idempotencyKey));
+        if (entry == null || entry.state() != State.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(fromJson(entry.response(), responseType));
+    }
+
+    private static String key(Long userId, String scope, String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        return KEY_PREFIX + userId + ":" + scope + ":" + idempotencyKey;
+    }
+
+    private <T> T runAndStore(String key, String fingerprint, Supplier<T> action) {
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            redisTemplate.delete(key);
+            throw e;
+        }
+        Entry completed = new Entry(State.COMPLETED, fingerprint, objectMapper.valueToTree(response));
+        redisTemplate.opsForValue().set(key, toJson(completed), config.getResponseTtl());
+        return response;
+    }
+
+    private Entry read(String key) {
+        String json = redisTemplate.opsForValue().get(key);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Entry.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to read idempotency entry", e);
+        }
+    }
+
+    private <T> T fromJson(JsonNode response, Class<T> responseType) {
+        try {
+            return objectMapper.treeToValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to replay stored response", e);
+        }
+    }
+
+    private String toJson(Entry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to write idempotency entry", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to fingerprint request", e);
+        }
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the original request");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.OutboxConfig;
+import com.enlist.be.entity.OutboxEvent;
+import com.enlist.be.repository.ErrorAnalyticsRepository;
+import com.enlist.be.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carries out outbox events in batches. Rows are claimed with {@code FOR UPDATE SKIP LOCKED} and
+ * a lease, so several nodes can poll at once and a batch abandoned by a crashed node is picked up
+ * again. A claimed batch is handled and marked done in one transaction that row-locks its events,
+ * so an event whose lease ran out mid-handling is never handled twice. If the batch fails, its
+ * events are handled one per transaction to isolate the failure; failed events are retried with
+ * exponential backoff and parked as FAILED after the last attempt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final String CLAIM_SQL = """
+            UPDATE outbox_events
+            SET next_attempt_at = LOCALTIMESTAMP + make_interval(secs => ?)
+            WHERE id IN (
+                SELECT id FROM outbox_events
+                WHERE status = 'PENDING' AND next_attempt_at <= LOCALTIMESTAMP
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id
+            """;
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final OutboxConfig config;
+    private final DailyGoalService dailyGoalService;
+    private final ReviewService reviewService;
+    private final ErrorAnalyticsRepository errorAnalyticsRepository;
+    private final CreditsService creditsService;
+    private final RandomSessionService randomSessionService;
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    public void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<Long> claimed;
+        do {
+            claimed = transaction.execute(status -> jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                    config.getLease().toSeconds(), config.getBatchSize()));
+            if (claimed == null) {
+                return;
+            }
+            processBatch(claimed.stream().sorted().toList());
+        } while (claimed.size() == config.getBatchSize());
+    }
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minus(config.getRetention());
+        Integer purged = transaction.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(OutboxEvent.Status.DONE, before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} processed outbox events", purged);
+        }
+    }
+
+    private void processBatch(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> drafts = draftParagraphs(eventIds);
+        try {
+            transaction.executeWithoutResult(status -> handleAll(eventIds, drafts));
+        } catch (RuntimeException e) {
+            if (eventIds.size() == 1) {
+                recordFailure(eventIds.getFirst(), e);
+                return;
+            }
+            for (Long eventId : eventIds) {
+                try {
+                    transaction.executeWithoutResult(status -> handleAll(List.of(eventId), drafts));
+                } catch (RuntimeException eventError) {
+                    recordFailure(eventId, eventError);
+                }
+            }
+        }
+    }
+
+    /**
+     * AI drafts for the batch's next-paragraph events, generated before the handling transaction
+     * opens so that no database transaction or row lock is held during the AI call. An event
+     * without a draft falls back to the curated pool.
+     */
+    private Map<Long, String> draftParagraphs(List<Long> eventIds) {
+        Map<Long, String> drafts = new HashMap<>();
+        for (OutboxEvent event : outboxEventRepository.findAllById(eventIds)) {
+            if (event.getType() == OutboxEvent.Type.RANDOM_SESSION_NEXT_PARAGRAPH
+                    && event.getStatus() == OutboxEvent.Status.PENDING) {
+                drafts.put(event.getId(), randomSessionService.draftNextParagraph(event.getLong("randomSessionId")));
+            }
+        }
+        return drafts;
+    }
+
+    private void handleAll(List<Long> eventIds, Map<Long, String> drafts) {
+        for (OutboxEvent event : outboxEventRepository.lockByIdInAndStatus(eventIds, OutboxEvent.Status.PENDING)) {
+            handle(event, drafts.get(event.getId()));
+            event.setStatus(OutboxEvent.Status.DONE);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setProcessedAt(LocalDateTime.now());
+        }
+    }
+
+    private void handle(OutboxEvent event, String draft) {
+        switch (event.getType()) {
+            case DAILY_PROGRESS -> dailyGoalService.incrementDailyProgress(event.getLong("userId"));
+            case REVIEW_QUEUE -> reviewService.addToReviewQueue(
+                    event.getLong("userId"), event.getLong("submissionId"));
+            case ERROR_ANALYTICS -> errorAnalyticsRepository.incrementErrorCounts(
+                    event.getLong("userId"), event.getString("errorTypes"), event.getString("errorCategories"));
+            case SESSION_CREDITS -> creditsService.awardPointsForSession(
+                    event.getLong("userId"), event.getInt("points"), true);
+            case RANDOM_SESSION_COMPLETED -> randomSessionService.onParagraphSessionCompleted(
+                    event.getSessionId(), event.getDouble("accuracy"), event.getInt("timeSpent"),
+                    event.getInt("points"), event.getInt("credits"));
+            case RANDOM_SESSION_NEXT_PARAGRAPH -> randomSessionService.addNextParagraph(
+                    event.getLong("randomSessionId"), event.getInt("afterOrderIndex"), draft);
+        }
+    }
+
+    private void recordFailure(Long eventId, RuntimeException error) {
+        transaction.executeWithoutResult(status -> outboxEventRepository.findById(eventId)
+                .ifPresent(event -> recordFailure(event, error)));
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (attempts >= config.getMaxAttempts()) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            log.error("Outbox event {} ({}) failed after {} attempts", event.getId(), event.getType(), attempts, error);
+            return;
+        }
+
+        Duration backoff = config.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(config.getMaxBackoff()) > 0) {
+            backoff = config.getMaxBackoff();
+        }
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Outbox event {} ({}) failed, retrying in {}s: {}",
+                event.getId(), event.getType(), backoff.toSeconds(), message);
+    }
+}
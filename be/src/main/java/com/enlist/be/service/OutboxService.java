@@ -0,0 +1,29 @@
+package com.enlist.be.service;
+
+import com.enlist.be.entity.OutboxEvent;
+import com.enlist.be.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Record an event in the caller's transaction; it is handled only if that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEvent.Type type, Long sessionId, Map<String, Object> payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .sessionId(sessionId)
+                .payload(payload)
+                .build());
+    }
+}
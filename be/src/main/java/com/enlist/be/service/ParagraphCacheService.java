@@ -1,5 +1,6 @@
 package com.enlist.be.service;
 
+import com.enlist.be.profiling.CacheLookupEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -56,7 +57,13 @@ public class ParagraphCacheService {
         String cacheKey = buildCacheKey(difficultyLevel, targetLanguage);
         
         // Try to get from cache
+        CacheLookupEvent lookupEvent = new CacheLookupEvent();
+        lookupEvent.cache = "paragraph";
+        lookupEvent.key = cacheKey;
+        lookupEvent.begin();
         String cached = redisTemplate.opsForValue().get(cacheKey);
+        lookupEvent.hit = cached != null;
+        lookupEvent.commit();
         
         if (cached != null) {
             cacheHits.incrementAndGet();
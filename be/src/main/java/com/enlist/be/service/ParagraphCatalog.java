@@ -0,0 +1,322 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.CatalogParagraph;
+import com.enlist.be.dto.ParagraphFacetsResponse;
+import com.enlist.be.dto.ParagraphSource;
+import com.enlist.be.entity.Paragraph;
+import com.enlist.be.exception.BadRequestException;
+import com.enlist.be.repository.ParagraphRepository;
+import com.enlist.be.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the curated paragraphs (everything but AI-generated ones), so catalog
+ * browsing does not touch the database. A snapshot is never modified; content changes build a
+ * new one from the previous snapshot and the changed rows, and swap it in.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParagraphCatalog {
+
+    /**
+     * Sortable properties: every scalar paragraph property. Text sorts ignore case, nulls sort
+     * last, and every ordering breaks ties by id, so each one is total.
+     */
+    private static final Map<String, SortKey<?>> SORT_KEYS = Map.of(
+            "id", SortKey.natural(CatalogParagraph::id, Long::valueOf),
+            "title", SortKey.text(CatalogParagraph::title),
+            "content", SortKey.text(CatalogParagraph::content),
+            "difficulty", SortKey.text(CatalogParagraph::difficulty),
+            "topic", SortKey.text(CatalogParagraph::topic),
+            "sourcePath", SortKey.text(CatalogParagraph::sourcePath),
+            "sentenceCount", SortKey.natural(CatalogParagraph::sentenceCount, Integer::valueOf),
+            "createdAt", SortKey.natural(CatalogParagraph::createdAt, LocalDateTime::parse),
+            "updatedAt", SortKey.natural(CatalogParagraph::updatedAt, LocalDateTime::parse));
+
+    /** Above this many changed paragraphs, one full reload is cheaper than looking them up. */
+    private static final int MAX_REFRESH = 500;
+
+    private final ParagraphRepository paragraphRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<CatalogParagraph> curated = paragraphRepository.findAll().stream()
+                .filter(ParagraphCatalog::isCurated)
+                .map(CatalogParagraph::of)
+                .toList();
+        snapshot.set(Snapshot.of(curated));
+        log.info("Paragraph catalog loaded with {} paragraphs", curated.size());
+    }
+
+    /**
+     * Re-read the given paragraphs; those that no longer exist or are not curated are dropped.
+     */
+    public synchronized void refresh(Collection<Long> ids) {
+        if (ids.size() > MAX_REFRESH) {
+            reload();
+            return;
+        }
+        apply(ids, paragraphRepository.findAllById(ids));
+    }
+
+    /**
+     * Re-read the paragraphs synced from the given markdown files.
+     */
+    public synchronized void refreshSources(Collection<String> sourcePaths) {
+        if (sourcePaths.size() > MAX_REFRESH) {
+            reload();
+            return;
+        }
+        apply(List.of(), paragraphRepository.findBySourcePathIn(sourcePaths));
+    }
+
+    /**
+     * Source paths whose catalog copy is missing or was built from different content, e.g. because
+     * another node already synced the change into the database. Before the first load every
+     * source is left to {@link #reload}.
+     */
+    public List<String> staleSources(Collection<ParagraphSource> sources) {
+        Snapshot current = snapshot.get();
+        if (current == Snapshot.EMPTY) {
+            return List.of();
+        }
+        Map<String, String> hashes = current.hashBySource();
+        return sources.stream()
+                .filter(source -> !Objects.equals(source.contentHash(), hashes.get(source.sourcePath())))
+                .map(ParagraphSource::sourcePath)
+                .toList();
+    }
+
+    /**
+     * Refresh one paragraph once the current transaction commits, so the new snapshot sees its changes.
+     */
+    public void refreshAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(List.of(id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(List.of(id));
+            }
+        });
+    }
+
+    private void apply(Collection<Long> removed, List<Paragraph> changed) {
+        Map<Long, CatalogParagraph> byId = new HashMap<>(snapshot.get().byId());
+        removed.forEach(byId::remove);
+        for (Paragraph paragraph : changed) {
+            if (isCurated(paragraph)) {
+                byId.put(paragraph.getId(), CatalogParagraph.of(paragraph));
+            } else {
+                byId.remove(paragraph.getId());
+            }
+        }
+        snapshot.set(Snapshot.of(List.copyOf(byId.values())));
+    }
+
+    public Optional<CatalogParagraph> find(Long id) {
+        return Optional.ofNullable(snapshot.get().byId().get(id));
+    }
+
+    public List<String> getTopics() {
+        return snapshot.get().topics();
+    }
+
+    public ParagraphFacetsResponse getFacets() {
+        return snapshot.get().facets();
+    }
+
+    /**
+     * Paragraphs matching the optional filters, ordered by the single property in {@code sort}.
+     */
+    public List<CatalogParagraph> list(String difficulty, String topic, Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+        return sortedView(order).stream()
+                .filter(paragraph -> matches(paragraph, difficulty, topic))
+                .toList();
+    }
+
+    /**
+     * Up to {@code limit} paragraphs matching the filters that come after {@code after} in the
+     * given order, or from the start when it is null. The start is found by binary search.
+     */
+    public List<CatalogParagraph> listAfter(
+            String difficulty, String topic, Sort.Order order, KeysetCursor after, int limit) {
+        List<CatalogParagraph> view = sortedView(order);
+        int start = 0;
+        if (after != null) {
+            ToIntFunction<CatalogParagraph> fromCursor = SORT_KEYS.get(order.getProperty()).comparedTo(after);
+            int direction = order.isDescending() ? -1 : 1;
+            int high = view.size();
+            while (start < high) {
+                int mid = (start + high) >>> 1;
+                if (fromCursor.applyAsInt(view.get(mid)) * direction > 0) {
+                    high = mid;
+                } else {
+                    start = mid + 1;
+                }
+            }
+        }
+        return view.subList(start, view.size()).stream()
+                .filter(paragraph -> matches(paragraph, difficulty, topic))
+                .limit(limit)
+                .toList();
+    }
+
+    public long count(String difficulty, String topic) {
+        return snapshot.get().byId().values().stream()
+                .filter(paragraph -> matches(paragraph, difficulty, topic))
+                .count();
+    }
+
+    /**
+     * Cursor pointing just past {@code paragraph} in the given order.
+     */
+    public static KeysetCursor cursorOf(CatalogParagraph paragraph, Sort.Order order) {
+        return KeysetCursor.of(sortName(order), SORT_KEYS.get(order.getProperty()).valueOf(paragraph), paragraph.id());
+    }
+
+    public static String sortName(Sort.Order order) {
+        return order.getProperty() + (order.isDescending() ? ":desc" : ":asc");
+    }
+
+    private List<CatalogParagraph> sortedView(Sort.Order order) {
+        List<CatalogParagraph> sorted = snapshot.get().sorted().get(order.getProperty());
+        if (sorted == null) {
+            throw new BadRequestException("Unsupported sort field: " + order.getProperty());
+        }
+        return order.isDescending() ? sorted.reversed() : sorted;
+    }
+
+    private static boolean matches(CatalogParagraph paragraph, String difficulty, String topic) {
+        return (difficulty == null || difficulty.equals(paragraph.difficulty()))
+                && (topic == null || topic.equals(paragraph.topic()));
+    }
+
+    private static boolean isCurated(Paragraph paragraph) {
+        return !Paragraph.AI_GENERATED_TOPIC.equals(paragraph.getTopic());
+    }
+
+    /**
+     * A sortable property, with the parser that reads its value back out of a cursor.
+     */
+    private record SortKey<T>(Function<CatalogParagraph, T> extractor, Function<String, T> parser,
+                              Comparator<T> order) {
+
+        static <T extends Comparable<? super T>> SortKey<T> natural(
+                Function<CatalogParagraph, T> extractor, Function<String, T> parser) {
+            return new SortKey<>(extractor, parser, Comparator.nullsLast(Comparator.<T>naturalOrder()));
+        }
+
+        static SortKey<String> text(Function<CatalogParagraph, String> extractor) {
+            return new SortKey<>(extractor, Function.identity(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        }
+
+        Comparator<CatalogParagraph> comparator() {
+            return Comparator.comparing(extractor, order).thenComparing(CatalogParagraph::id);
+        }
+
+        String valueOf(CatalogParagraph paragraph) {
+            T value = extractor.apply(paragraph);
+            return value != null ? value.toString() : null;
+        }
+
+        /**
+         * Compares a paragraph with the cursor position, in ascending order.
+         */
+        ToIntFunction<CatalogParagraph> comparedTo(KeysetCursor cursor) {
+            T value = cursor.value() != null ? parse(cursor.value()) : null;
+            return paragraph -> {
+                int compared = order.compare(extractor.apply(paragraph), value);
+                return compared != 0 ? compared : Long.compare(paragraph.id(), cursor.id());
+            };
+        }
+
+        private T parse(String value) {
+            try {
+                return parser.apply(value);
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor", e);
+            }
+        }
+    }
+
+    private record Snapshot(
+            Map<Long, CatalogParagraph> byId,
+            Map<String, List<CatalogParagraph>> sorted,
+            List<String> topics,
+            ParagraphFacetsResponse facets,
+            Map<String, String> hashBySource) {
+
+        static final Snapshot EMPTY = of(List.of());
+
+        static Snapshot of(List<CatalogParagraph> paragraphs) {
+            Map<Long, CatalogParagraph> byId = paragraphs.stream()
+                    .collect(Collectors.toUnmodifiableMap(CatalogParagraph::id, Function.identity()));
+            Map<String, List<CatalogParagraph>> sorted = SORT_KEYS.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, sort -> paragraphs.stream()
+                            .sorted(sort.getValue().comparator())
+                            .toList()));
+            List<String> topics = paragraphs.stream()
+                    .map(CatalogParagraph::topic)
+                    .filter(topic -> topic != null)
+                    .distinct()
+                    .sorted()
+                    .toList();
+            Map<String, String> hashBySource = paragraphs.stream()
+                    .filter(paragraph -> paragraph.sourcePath() != null && paragraph.contentHash() != null)
+                    .collect(Collectors.toUnmodifiableMap(CatalogParagraph::sourcePath, CatalogParagraph::contentHash));
+            return new Snapshot(byId, sorted, topics, facetsOf(paragraphs), hashBySource);
+        }
+
+        private static ParagraphFacetsResponse facetsOf(List<CatalogParagraph> paragraphs) {
+            Map<String, Map<String, Long>> counts = new TreeMap<>();
+            Map<String, Long> byTopic = new TreeMap<>();
+            Map<String, Long> byDifficulty = new TreeMap<>();
+            for (CatalogParagraph paragraph : paragraphs) {
+                String topic = paragraph.topic() != null ? paragraph.topic() : "";
+                String difficulty = paragraph.difficulty();
+                counts.computeIfAbsent(topic, key -> new TreeMap<>()).merge(difficulty, 1L, Long::sum);
+                byTopic.merge(topic, 1L, Long::sum);
+                byDifficulty.merge(difficulty, 1L, Long::sum);
+            }
+
+            Map<String, Map<String, Long>> frozen = new LinkedHashMap<>();
+            counts.forEach((topic, byLevel) -> frozen.put(topic, Collections.unmodifiableMap(byLevel)));
+            return ParagraphFacetsResponse.builder()
+                    .total(paragraphs.size())
+                    .byTopic(Collections.unmodifiableMap(byTopic))
+                    .byDifficulty(Collections.unmodifiableMap(byDifficulty))
+                    .byTopicAndDifficulty(Collections.unmodifiableMap(frozen))
+                    .build();
+        }
+    }
+}
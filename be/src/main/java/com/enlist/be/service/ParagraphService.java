@@ -1,6 +1,9 @@
 package com.enlist.be.service;
 
+import com.enlist.be.dto.CatalogParagraph;
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.PaginatedResponse;
+import com.enlist.be.dto.ParagraphFacetsResponse;
 import com.enlist.be.dto.ParagraphCreateRequest;
 import com.enlist.be.dto.ParagraphResponse;
 import com.enlist.be.dto.PreviousAttemptResponse;
@@ -10,39 +13,38 @@ import com.enlist.be.entity.SessionSummary;
 import com.enlist.be.repository.ParagraphRepository;
 import com.enlist.be.repository.ParagraphSessionRepository;
 import com.enlist.be.repository.SessionSummaryRepository;
+import com.enlist.be.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class ParagraphService {
 
+    private static final Pattern SEARCH_TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 16;
+
     private final ParagraphRepository paragraphRepository;
     private final SessionSummaryRepository sessionSummaryRepository;
     private final ParagraphSessionRepository sessionRepository;
+    private final ParagraphCatalog paragraphCatalog;
 
     public List<ParagraphResponse> getAllParagraphs(String difficulty, String topic) {
-        List<Paragraph> paragraphs;
-        
-        if (difficulty != null && topic != null) {
-            paragraphs = paragraphRepository.findByDifficultyAndTopic(difficulty, topic);
-        } else if (difficulty != null) {
-            paragraphs = paragraphRepository.findByDifficulty(difficulty);
-        } else if (topic != null) {
-            paragraphs = paragraphRepository.findByTopic(topic);
-        } else {
-            paragraphs = paragraphRepository.findAll();
-        }
-        
-        return paragraphs.stream()
-                .map(ParagraphResponse::fromEntity)
+        return paragraphCatalog.list(difficulty, topic, Sort.by("id")).stream()
+                .map(paragraph -> ParagraphResponse.fromCatalog(paragraph, "not_started"))
                 .toList();
     }
 
@@ -62,53 +64,109 @@ public class ParagraphService {
         );
         Pageable pageable = PageRequest.of(page, pageSize, sort);
         
-        Page<Paragraph> paragraphPage = paragraphRepository.findWithFilters(
-                difficulty,
-                topic,
-                search,
-                pageable
-        );
+        String searchQuery = toSearchQuery(search);
+        Page<CatalogParagraph> paragraphPage = searchQuery != null
+                ? paragraphRepository.searchWithFilters(difficulty, topic, searchQuery, pageable)
+                        .map(CatalogParagraph::of)
+                : browseCatalog(difficulty, topic, pageable);
         
-        if (userId == null) {
-            return PaginatedResponse.fromPage(paragraphPage, ParagraphResponse::fromEntity);
+        Map<Long, String> completionStatuses = userId != null
+                ? calculateCompletionStatuses(paragraphPage.getContent(), userId)
+                : Map.of();
+        return PaginatedResponse.fromPage(paragraphPage, paragraph -> ParagraphResponse.fromCatalog(
+                paragraph, completionStatuses.getOrDefault(paragraph.id(), "not_started")));
+    }
+
+    /**
+     * Keyset-paginated catalog browsing. Pages are cut from the in-memory catalog, so deep pages
+     * cost the same as the first and no count runs unless {@code includeTotal} is set.
+     */
+    public CursorPageResponse<ParagraphResponse> getParagraphsPage(
+            String difficulty,
+            String topic,
+            String sortBy,
+            String sortOrder,
+            String cursor,
+            int size,
+            boolean includeTotal,
+            Long userId) {
+
+        Sort.Order order = "desc".equalsIgnoreCase(sortOrder)
+                ? Sort.Order.desc(sortBy != null ? sortBy : "id")
+                : Sort.Order.asc(sortBy != null ? sortBy : "id");
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, ParagraphCatalog.sortName(order));
+
+        List<CatalogParagraph> rows = paragraphCatalog.listAfter(difficulty, topic, order, after, pageSize + 1);
+        Map<Long, String> completionStatuses = userId != null
+                ? calculateCompletionStatuses(rows, userId)
+                : Map.of();
+
+        CursorPageResponse<ParagraphResponse> page = CursorPageResponse.fromRows(rows, pageSize,
+                paragraph -> ParagraphResponse.fromCatalog(
+                        paragraph, completionStatuses.getOrDefault(paragraph.id(), "not_started")),
+                paragraph -> ParagraphCatalog.cursorOf(paragraph, order).encode());
+        if (includeTotal) {
+            page.setTotal(paragraphCatalog.count(difficulty, topic));
         }
-        
-        return PaginatedResponse.fromPage(paragraphPage, paragraph -> {
-            String completionStatus = calculateCompletionStatus(paragraph.getId(), userId);
-            return ParagraphResponse.fromEntityWithStatus(paragraph, completionStatus);
-        });
+        return page;
     }
 
-    private String calculateCompletionStatus(Long paragraphId, Long userId) {
-        List<ParagraphSession> sessions = sessionRepository
-                .findByUserIdAndParagraphIdOrderByIdDesc(userId, paragraphId);
-        
-        if (sessions.isEmpty()) {
-            return "not_started";
+    private Page<CatalogParagraph> browseCatalog(String difficulty, String topic, Pageable pageable) {
+        List<CatalogParagraph> matches = paragraphCatalog.list(difficulty, topic, pageable.getSort());
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    /**
+     * Turn free text into a tsquery that requires every word, each matched as a prefix. Only
+     * letters and digits survive, so user input can never carry tsquery operators.
+     */
+    private String toSearchQuery(String search) {
+        if (search == null) {
+            return null;
         }
-        
-        for (ParagraphSession session : sessions) {
-            if (session.getStatus() == ParagraphSession.Status.COMPLETED) {
-                return "completed";
-            }
-            if (session.getStatus() == ParagraphSession.Status.IN_PROGRESS) {
-                return "in_progress";
-            }
-            if (session.getStatus() == ParagraphSession.Status.NOT_STARTED) {
-                return "in_progress"; // Show as in_progress if clicked but not submitted
-            }
+        List<String> terms = Arrays.stream(SEARCH_TERM_SEPARATOR.split(search.toLowerCase()))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .toList();
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    /**
+     * Completion status of each paragraph on a page, decided by the user's newest session that
+     * was not abandoned. Paragraphs without one are absent from the map.
+     */
+    private Map<Long, String> calculateCompletionStatuses(List<CatalogParagraph> paragraphs, Long userId) {
+        if (paragraphs.isEmpty()) {
+            return Map.of();
         }
-        
-        return "not_started";
+
+        List<Long> paragraphIds = paragraphs.stream().map(CatalogParagraph::id).toList();
+        Map<Long, String> statuses = new HashMap<>();
+        for (ParagraphSessionRepository.ParagraphStatus row : sessionRepository.findLatestStatuses(
+                userId, paragraphIds, ParagraphSession.Status.ABANDONED)) {
+            // A session that was opened but not submitted yet still shows as in progress
+            statuses.put(row.getParagraphId(),
+                    row.getStatus() == ParagraphSession.Status.COMPLETED ? "completed" : "in_progress");
+        }
+        return statuses;
     }
 
     public List<String> getAllTopics() {
-        return paragraphRepository.findAllTopics();
+        return paragraphCatalog.getTopics();
+    }
+
+    public ParagraphFacetsResponse getFacets() {
+        return paragraphCatalog.getFacets();
     }
 
     public ParagraphResponse getParagraphById(Long id) {
-        return paragraphRepository.findById(id)
-                .map(ParagraphResponse::fromEntity)
+        return paragraphCatalog.find(id)
+                .or(() -> paragraphRepository.findById(id).map(CatalogParagraph::of))
+                .map(paragraph -> ParagraphResponse.fromCatalog(paragraph, "not_started"))
                 .orElseThrow(() -> new RuntimeException("Paragraph not found: " + id));
     }
 
@@ -121,6 +179,7 @@ public class ParagraphService {
                 .build();
         
         Paragraph saved = paragraphRepository.save(paragraph);
+        paragraphCatalog.refreshAfterCommit(saved.getId());
         return ParagraphResponse.fromEntity(saved);
     }
 
@@ -129,6 +188,7 @@ public class ParagraphService {
             throw new RuntimeException("Paragraph not found: " + id);
         }
         paragraphRepository.deleteById(id);
+        paragraphCatalog.refreshAfterCommit(id);
     }
 
     public List<ParagraphResponse> searchParagraphs(String query) {
@@ -137,9 +197,10 @@ public class ParagraphService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<PreviousAttemptResponse> getPreviousAttempts(Long paragraphId, Long userId) {
         List<SessionSummary> summaries = sessionSummaryRepository
-                .findByParagraphIdAndUserIdOrderByCreatedAtDesc(paragraphId, userId);
+                .findByParagraphIdAndUserIdOrderByCompletedAtDesc(paragraphId, userId);
 
         List<PreviousAttemptResponse> attempts = new ArrayList<>();
         for (SessionSummary summary : summaries) {
@@ -1,7 +1,9 @@
 package com.enlist.be.service;
 
+import com.enlist.be.dto.CursorPageResponse;
 import com.enlist.be.dto.RandomSessionCreateRequest;
 import com.enlist.be.dto.RandomSessionResponse;
+import com.enlist.be.entity.OutboxEvent;
 import com.enlist.be.entity.Paragraph;
 import com.enlist.be.entity.ParagraphSession;
 import com.enlist.be.entity.RandomSession;
@@ -10,14 +12,18 @@ import com.enlist.be.repository.ParagraphRepository;
 import com.enlist.be.repository.ParagraphSessionRepository;
 import com.enlist.be.repository.RandomSessionParagraphRepository;
 import com.enlist.be.repository.RandomSessionRepository;
-import jakarta.persistence.EntityManager;
+import com.enlist.be.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,6 +31,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class RandomSessionService {
 
+    private static final String USER_SESSIONS_SORT = "createdAt:desc";
+
     private final RandomSessionRepository randomSessionRepository;
     private final RandomSessionParagraphRepository randomSessionParagraphRepository;
     private final ParagraphRepository paragraphRepository;
@@ -32,7 +40,7 @@ public class RandomSessionService {
     private final AIService aiService;
     private final ParagraphCacheService paragraphCacheService;
     private final RateLimitService rateLimitService;
-    private final EntityManager entityManager;
+    private final OutboxService outboxService;
 
     @Transactional
     public RandomSessionResponse createRandomSession(Long userId, RandomSessionCreateRequest request) {
@@ -68,6 +76,7 @@ public class RandomSessionService {
         return response;
     }
 
+    @Transactional(readOnly = true)
     public RandomSessionResponse getRandomSession(Long randomSessionId) {
         RandomSession session = randomSessionRepository.findByIdWithParagraphs(randomSessionId)
                 .orElseThrow(() -> new RuntimeException("Random session not found: " + randomSessionId));
@@ -85,6 +94,7 @@ public class RandomSessionService {
         return RandomSessionResponse.fromEntity(session);
     }
 
+    @Transactional(readOnly = true)
     public List<RandomSessionResponse> getUserRandomSessions(Long userId) {
         List<RandomSession> sessions = randomSessionRepository.findByUserIdOrderByCreatedAtDesc(userId);
         return sessions.stream()
@@ -92,6 +102,36 @@ public class RandomSessionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getUserRandomSessions}, newest first. The page of ids is
+     * read first, then the sessions and their paragraphs are loaded together in one query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<RandomSessionResponse> getUserRandomSessionsPage(
+            Long userId, String cursor, int size, boolean includeTotal) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, USER_SESSIONS_SORT);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Long> ids = after == null
+                ? randomSessionRepository.findIdsByUserId(userId, limit)
+                : randomSessionRepository.findIdsByUserIdBefore(userId, after.timestamp(), after.id(), limit);
+
+        Map<Long, RandomSession> loaded = randomSessionRepository.findAllWithParagraphsByIdIn(ids).stream()
+                .collect(Collectors.toMap(RandomSession::getId, Function.identity()));
+        List<RandomSession> sessions = ids.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        CursorPageResponse<RandomSessionResponse> page = CursorPageResponse.fromRows(sessions, pageSize,
+                RandomSessionResponse::fromEntity,
+                session -> KeysetCursor.of(USER_SESSIONS_SORT, session.getCreatedAt(), session.getId()).encode());
+        if (includeTotal) {
+            page.setTotal(randomSessionRepository.countByUserId(userId));
+        }
+        return page;
+    }
+
     @Transactional
     public RandomSessionResponse generateNextParagraphForSession(Long randomSessionId) {
         RandomSession session = randomSessionRepository.findById(randomSessionId)
@@ -106,30 +146,65 @@ public class RandomSessionService {
 
     @Transactional
     public RandomSessionResponse generateNextParagraph(RandomSession randomSession) {
-        Paragraph selectedParagraph = null;
-        
+        return addParagraph(randomSession, draftParagraph(randomSession));
+    }
+
+    /**
+     * Generate the content of the paragraph that follows the session's last completed one. Runs
+     * outside any transaction, since the AI call can take a long time.
+     *
+     * @return the generated content, or null to fall back to the curated pool
+     */
+    public String draftNextParagraph(Long randomSessionId) {
+        return randomSessionRepository.findById(randomSessionId)
+                .filter(session -> session.getStatus() == RandomSession.Status.ACTIVE)
+                .map(this::draftParagraph)
+                .orElse(null);
+    }
+
+    /**
+     * Add the paragraph that follows the one at {@code afterOrderIndex}, from {@code draft} or the
+     * curated pool. Does nothing if the session has ended or already moved past that paragraph,
+     * so a redelivered event adds at most one paragraph.
+     */
+    @Transactional
+    public void addNextParagraph(Long randomSessionId, int afterOrderIndex, String draft) {
+        RandomSession randomSession = randomSessionRepository.findById(randomSessionId)
+                .orElseThrow(() -> new RuntimeException("Random session not found: " + randomSessionId));
+        if (randomSession.getStatus() != RandomSession.Status.ACTIVE
+                || randomSession.getNextOrderIndex() > afterOrderIndex + 1) {
+            log.info("Random session {} needs no paragraph after {}", randomSessionId, afterOrderIndex);
+            return;
+        }
+        addParagraph(randomSession, draft);
+    }
+
+    private String draftParagraph(RandomSession randomSession) {
         try {
-            // Try to generate AI paragraph
-            String generatedContent = generateAIParagraph(randomSession);
-            
+            return generateAIParagraph(randomSession);
+        } catch (Exception e) {
+            log.error("Failed to generate AI paragraph for session {}: {}",
+                    randomSession.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private RandomSessionResponse addParagraph(RandomSession randomSession, String draft) {
+        Paragraph selectedParagraph;
+        if (draft != null) {
             // Create a new paragraph entity for the AI-generated content
-            selectedParagraph = Paragraph.builder()
+            selectedParagraph = paragraphRepository.save(Paragraph.builder()
                     .title("AI Generated - Level " + randomSession.getCurrentDifficulty())
-                    .content(generatedContent)
+                    .content(draft)
                     .difficulty(mapDifficultyToString(randomSession.getCurrentDifficulty()))
-                    .topic("AI Generated")
-                    .build();
-            
-            selectedParagraph = paragraphRepository.save(selectedParagraph);
+                    .topic(Paragraph.AI_GENERATED_TOPIC)
+                    .build());
             paragraphRepository.flush();
-            
-        } catch (Exception e) {
-            log.error("Failed to generate AI paragraph for session {}: {}", 
-                    randomSession.getId(), e.getMessage());
+        } else {
             // Fallback to pre-generated paragraph pool
             selectedParagraph = selectParagraphFromPool(randomSession);
         }
-        
+
         if (selectedParagraph == null) {
             throw new RuntimeException("No paragraphs available for difficulty: " 
                     + randomSession.getCurrentDifficulty());
@@ -146,20 +221,16 @@ public class RandomSessionService {
             throw new RateLimitExceededException("AI paragraph generation limit exceeded");
         }
 
-        // Collect error summary and vocab suggestions from recent paragraphs
-        List<RandomSessionParagraph> recentParagraphs = randomSessionParagraphRepository
-                .findByRandomSessionIdOrderByOrderIndexAsc(randomSession.getId())
-                .stream()
-                .filter(p -> p.getStatus() == RandomSessionParagraph.Status.COMPLETED)
-                .toList();
+        // Collect error summary and vocab suggestions from the last completed paragraph
+        var lastCompleted = randomSessionParagraphRepository.findFirstByRandomSessionIdAndStatusOrderByOrderIndexDesc(
+                randomSession.getId(), RandomSessionParagraph.Status.COMPLETED);
 
         String errorSummary = null;
         String vocabSuggestions = null;
         String previousParagraphContent = null;
 
-        if (!recentParagraphs.isEmpty()) {
-            // Get the last completed paragraph's error summary
-            RandomSessionParagraph lastParagraph = recentParagraphs.get(recentParagraphs.size() - 1);
+        if (lastCompleted.isPresent()) {
+            RandomSessionParagraph lastParagraph = lastCompleted.get();
             errorSummary = lastParagraph.getErrorSummaryJson();
             vocabSuggestions = lastParagraph.getVocabTargetedJson();
             
@@ -225,12 +296,7 @@ public class RandomSessionService {
         log.info("Created ParagraphSession with ID: {}", savedParagraphSession.getId());
 
         // Create RandomSessionParagraph linking to the paragraph session
-        int nextOrderIndex = randomSessionParagraphRepository
-                .findByRandomSessionIdOrderByOrderIndexAsc(randomSession.getId())
-                .stream()
-                .mapToInt(RandomSessionParagraph::getOrderIndex)
-                .max()
-                .orElse(-1) + 1;
+        int nextOrderIndex = randomSessionRepository.claimOrderIndex(randomSession.getId());
 
         RandomSessionParagraph randomSessionParagraph = RandomSessionParagraph.builder()
                 .randomSession(randomSession)
@@ -242,26 +308,11 @@ public class RandomSessionService {
                 .build();
 
         RandomSessionParagraph savedRsp = randomSessionParagraphRepository.save(randomSessionParagraph);
-        randomSessionParagraphRepository.flush();
 
         log.info("Created RandomSessionParagraph with ID: {}, paragraphSessionId: {}", 
                 savedRsp.getId(), savedRsp.getParagraphSession().getId());
 
-        // Clear first-level cache and query fresh
-        entityManager.flush();
-        entityManager.clear();
-
-        // Query to get the updated session with all paragraphs
-        RandomSession refreshed = randomSessionRepository.findByIdWithParagraphs(randomSession.getId())
-                .orElseThrow(() -> new RuntimeException("Random session not found"));
-
-        log.info("Refreshed session has {} paragraphs", refreshed.getParagraphs().size());
-        if (!refreshed.getParagraphs().isEmpty()) {
-            log.info("First paragraph session ID: {}", 
-                    refreshed.getParagraphs().get(0).getParagraphSession().getId());
-        }
-
-        return RandomSessionResponse.fromEntity(refreshed);
+        return RandomSessionResponse.withNewParagraph(randomSession, savedRsp);
     }
 
     private String mapDifficultyToString(Integer difficultyLevel) {
@@ -279,32 +330,7 @@ public class RandomSessionService {
                                             Integer timeSpent, Integer points, Integer credits) {
         RandomSessionParagraph rsp = randomSessionParagraphRepository.findByParagraphSessionId(paragraphSessionId)
                 .orElseThrow(() -> new RuntimeException("Not part of a random session"));
-
-        rsp.complete(accuracy, timeSpent, points, credits);
-        randomSessionParagraphRepository.save(rsp);
-
-        RandomSession randomSession = rsp.getRandomSession();
-        randomSession.incrementParagraphsCompleted();
-        randomSession.setTotalPoints(randomSession.getTotalPoints() + points);
-        randomSession.setTotalCredits(randomSession.getTotalCredits() + credits);
-
-        // Update average accuracy
-        List<RandomSessionParagraph> completedParagraphs = randomSessionParagraphRepository
-                .findByRandomSessionIdAndStatus(randomSession.getId(), RandomSessionParagraph.Status.COMPLETED);
-        
-        if (!completedParagraphs.isEmpty()) {
-            double avgAccuracy = completedParagraphs.stream()
-                    .filter(p -> p.getAccuracy() != null)
-                    .mapToDouble(RandomSessionParagraph::getAccuracy)
-                    .average()
-                    .orElse(0.0);
-            randomSession.setAverageAccuracy(avgAccuracy);
-        }
-
-        randomSessionRepository.save(randomSession);
-
-        // Adjust difficulty and generate next paragraph
-        adjustDifficultyAndGenerateNext(randomSession, accuracy);
+        completeParagraph(rsp, accuracy, timeSpent, points, credits);
     }
 
     @Transactional
@@ -312,35 +338,38 @@ public class RandomSessionService {
                                      Integer points, Integer credits) {
         RandomSessionParagraph rsp = randomSessionParagraphRepository.findById(randomSessionParagraphId)
                 .orElseThrow(() -> new RuntimeException("RandomSessionParagraph not found"));
+        completeParagraph(rsp, accuracy, timeSpent, points, credits);
+    }
+
+    /**
+     * Record a finished paragraph, update the session aggregates in constant time and adjust the
+     * difficulty. The next paragraph is added by a separate outbox event, so a failing AI call
+     * cannot roll the completion back. Completing an already completed paragraph again is a no-op,
+     * so a redelivered outbox event cannot count twice.
+     */
+    private void completeParagraph(RandomSessionParagraph rsp, Double accuracy, Integer timeSpent,
+                                   Integer points, Integer credits) {
+        if (rsp.getStatus() == RandomSessionParagraph.Status.COMPLETED) {
+            log.info("RandomSessionParagraph {} is already completed", rsp.getId());
+            return;
+        }
 
         rsp.complete(accuracy, timeSpent, points, credits);
         randomSessionParagraphRepository.save(rsp);
 
-        RandomSession randomSession = rsp.getRandomSession();
-        randomSession.incrementParagraphsCompleted();
-        randomSession.setTotalPoints(randomSession.getTotalPoints() + points);
-        randomSession.setTotalCredits(randomSession.getTotalCredits() + credits);
+        Long randomSessionId = rsp.getRandomSession().getId();
+        randomSessionRepository.recordParagraphCompletion(randomSessionId, points, credits,
+                accuracy != null ? accuracy : 0.0, accuracy != null ? 1 : 0, LocalDateTime.now());
 
-        // Update average accuracy
-        List<RandomSessionParagraph> completedParagraphs = randomSessionParagraphRepository
-                .findByRandomSessionIdAndStatus(randomSession.getId(), RandomSessionParagraph.Status.COMPLETED);
-        
-        if (!completedParagraphs.isEmpty()) {
-            double avgAccuracy = completedParagraphs.stream()
-                    .filter(p -> p.getAccuracy() != null)
-                    .mapToDouble(RandomSessionParagraph::getAccuracy)
-                    .average()
-                    .orElse(0.0);
-            randomSession.setAverageAccuracy(avgAccuracy);
-        }
-
-        randomSessionRepository.save(randomSession);
+        RandomSession randomSession = randomSessionRepository.findById(randomSessionId)
+                .orElseThrow(() -> new RuntimeException("Random session not found: " + randomSessionId));
 
-        // Adjust difficulty and generate next paragraph
-        adjustDifficultyAndGenerateNext(randomSession, accuracy);
+        adjustDifficulty(randomSession, accuracy);
+        outboxService.publish(OutboxEvent.Type.RANDOM_SESSION_NEXT_PARAGRAPH, rsp.getParagraphSession().getId(),
+                Map.of("randomSessionId", randomSessionId, "afterOrderIndex", rsp.getOrderIndex()));
     }
 
-    private void adjustDifficultyAndGenerateNext(RandomSession randomSession, Double recentAccuracy) {
+    private void adjustDifficulty(RandomSession randomSession, Double recentAccuracy) {
         Integer currentDifficulty = randomSession.getCurrentDifficulty();
         Integer newDifficulty = currentDifficulty;
 
@@ -369,8 +398,5 @@ public class RandomSessionService {
 
         log.info("Adjusted difficulty from {} to {} based on accuracy {}", 
                 currentDifficulty, newDifficulty, recentAccuracy);
-
-        // Generate next paragraph
-        generateNextParagraph(randomSession);
     }
 }
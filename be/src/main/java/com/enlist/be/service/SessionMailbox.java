@@ -0,0 +1,64 @@
+package com.enlist.be.service;
+
+import com.enlist.be.exception.ConflictException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets one state-changing operation run per session on this node. An identical operation that
+ * arrives meanwhile (a double-click, a second tab resending) joins the running one and gets its
+ * result; a different operation is rejected before it reaches the AI call.
+ *
+ * <p>Operations on other nodes are still caught by the revision check in ActiveSessionStore.
+ */
+@Component
+public class SessionMailbox {
+
+    private record InFlight(Object operation, CompletableFuture<Object> result) {
+    }
+
+    private final Map<Long, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param operation identifies the work, e.g. the submit request; equal operations are merged
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T run(Long sessionId, Object operation, Supplier<T> work) {
+        InFlight mine = new InFlight(operation, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(sessionId, mine);
+        if (running != null) {
+            if (!Objects.equals(running.operation(), operation)) {
+                throw new ConflictException("Another change to session " + sessionId + " is in progress");
+            }
+            return (T) await(running.result());
+        }
+
+        try {
+            T result = work.get();
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(sessionId, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -2,64 +2,79 @@ package com.enlist.be.service;
 
 import com.enlist.be.dto.*;
 import com.enlist.be.entity.ErrorAnalytics;
+import com.enlist.be.entity.OutboxEvent;
 import com.enlist.be.entity.Paragraph;
 import com.enlist.be.entity.ParagraphSession;
 import com.enlist.be.entity.SentenceSubmission;
 import com.enlist.be.entity.SessionSummary;
-import com.enlist.be.repository.ErrorAnalyticsRepository;
+import com.enlist.be.exception.ConflictException;
+import com.enlist.be.profiling.PhaseTracer;
+import com.enlist.be.profiling.SessionSummaryEvent;
 import com.enlist.be.repository.ParagraphRepository;
 import com.enlist.be.repository.ParagraphSessionRepository;
 import com.enlist.be.repository.SentenceSubmissionRepository;
 import com.enlist.be.repository.SessionSummaryRepository;
+import com.enlist.be.util.KeysetCursor;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SessionService {
 
+    private static final String SKIP_OPERATION = "skip";
+    private static final String SESSION_LIST_SORT = "id:desc";
+
     private final ParagraphRepository paragraphRepository;
     private final ParagraphSessionRepository sessionRepository;
     private final SentenceSubmissionRepository submissionRepository;
     private final SessionSummaryRepository sessionSummaryRepository;
-    private final ErrorAnalyticsRepository errorAnalyticsRepository;
     private final AIService aiService;
-    private final CreditsService creditsService;
-    private final DailyGoalService dailyGoalService;
-    private final ReviewService reviewService;
-    private final RandomSessionService randomSessionService;
     private final ParagraphCacheService paragraphCacheService;
+    private final FeedbackBlobService feedbackBlobService;
+    private final SessionViewCache sessionViewCache;
+    private final ActiveSessionStore activeSessionStore;
+    private final OutboxService outboxService;
+    private final SessionMailbox sessionMailbox;
+    private final IdempotencyService idempotencyService;
+    private final PhaseTracer phaseTracer;
+    private final PlatformTransactionManager transactionManager;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
     @Transactional
     public SessionResponse createSession(Long userId, SessionCreateRequest request) {
-        Paragraph paragraph = paragraphRepository.findById(request.getParagraphId())
-                .orElseThrow(() -> new RuntimeException("Paragraph not found: " + request.getParagraphId()));
-
-        var existingInProgress = sessionRepository.findFirstByUserIdAndParagraphIdAndStatusOrderByIdDesc(
-                userId, request.getParagraphId(), ParagraphSession.Status.IN_PROGRESS);
-        
-        if (existingInProgress.isPresent()) {
-            return SessionResponse.fromEntity(existingInProgress.get());
+        var existing = sessionRepository.findResumableSession(userId, request.getParagraphId());
+        if (existing.isPresent()) {
+            return cacheView(existing.get());
         }
 
-        var existingNotStarted = sessionRepository.findFirstByUserIdAndParagraphIdAndStatusOrderByIdDesc(
-                userId, request.getParagraphId(), ParagraphSession.Status.NOT_STARTED);
-        
-        if (existingNotStarted.isPresent()) {
-            return SessionResponse.fromEntity(existingNotStarted.get());
-        }
+        Paragraph paragraph = paragraphRepository.findById(request.getParagraphId())
+                .orElseThrow(() -> new RuntimeException("Paragraph not found: " + request.getParagraphId()));
 
         ParagraphSession session = ParagraphSession.builder()
                 .userId(userId)
@@ -71,28 +86,159 @@ public class SessionService {
                 .build();
 
         ParagraphSession saved = sessionRepository.save(session);
-        return SessionResponse.fromEntity(saved);
+        return cacheView(saved);
     }
 
-    public SessionResponse getSession(Long sessionId) {
-        ParagraphSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
-        return SessionResponse.fromEntity(session);
+    private SessionResponse cacheView(ParagraphSession session) {
+        activeSessionStore.overlay(session);
+        SessionResponse response = toResponse(session);
+        sessionViewCache.putAfterCommit(session.getId(), session.getStateRevision(), response);
+        return response;
     }
 
-    @Transactional
+    /**
+     * The serialized session as served to clients, from the view cache when present.
+     */
+    public SessionViewCache.View getSessionView(Long sessionId) {
+        return sessionViewCache.get(sessionId).orElseGet(() -> refreshSessionView(sessionId));
+    }
+
+    private SessionViewCache.View refreshSessionView(Long sessionId) {
+        return readTransaction.execute(status -> {
+            ParagraphSession session = sessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+            activeSessionStore.overlay(session);
+            return sessionViewCache.put(sessionId, session.getStateRevision(), toResponse(session));
+        });
+    }
+
+    /**
+     * Evaluate a translation in three steps so no database connection is held during the LLM call:
+     * a short read transaction, the AI evaluation outside any transaction, and a short write
+     * transaction that rejects the submission if the session changed in the meantime.
+     * Concurrent submissions to one session go through {@link SessionMailbox}.
+     */
     public SentenceSubmissionResponse submitTranslation(Long sessionId, SentenceSubmitRequest request) {
-        ParagraphSession session = sessionRepository.findById(sessionId)
+        return sessionMailbox.run(sessionId, request, () -> evaluateAndApply(sessionId, request));
+    }
+
+    /**
+     * Submit at most once per Idempotency-Key; a repeat replays the stored response. Used for
+     * client retries and for queued jobs, which may be delivered to a worker more than once.
+     */
+    public IdempotencyService.Result<SentenceSubmissionResponse> submitTranslation(
+            Long userId, Long sessionId, SentenceSubmitRequest request, String idempotencyKey) {
+        return idempotencyService.execute(userId, submitScope(sessionId), idempotencyKey, request,
+                SentenceSubmissionResponse.class, () -> submitTranslation(sessionId, request));
+    }
+
+    /**
+     * The response stored for an Idempotency-Key whose submission already completed, if any.
+     */
+    public Optional<SentenceSubmissionResponse> findSubmittedTranslation(
+            Long userId, Long sessionId, String idempotencyKey) {
+        return idempotencyService.findCompleted(userId, submitScope(sessionId), idempotencyKey,
+                SentenceSubmissionResponse.class);
+    }
+
+    private static String submitScope(Long sessionId) {
+        return "submit:" + sessionId;
+    }
+
+    private SentenceSubmissionResponse evaluateAndApply(Long sessionId, SentenceSubmitRequest request) {
+        SubmissionContext context = phaseTracer.trace("load", sessionId,
+                () -> readTransaction.execute(status -> loadSubmissionContext(sessionId, request)));
+
+        TranslationFeedback feedback = phaseTracer.trace("evaluate", sessionId, () -> aiService.evaluateTranslation(
+                context.originalSentence(),
+                request.getUserTranslation(),
+                context.paragraphContext(),
+                context.previousTranslations()
+        ));
+
+        SentenceSubmissionResponse response = writeTransaction.execute(
+                status -> applySubmission(context, request, feedback));
+        phaseTracer.trace("session-view", sessionId, () -> refreshSessionView(sessionId));
+        return response;
+    }
+
+    private SentenceSubmissionResponse applySubmission(SubmissionContext context, SentenceSubmitRequest request,
+                                                       TranslationFeedback feedback) {
+        Long sessionId = context.sessionId();
+        ParagraphSession session = sessionRepository.findReadOnlyById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        ParagraphSession.Status previousStatus = session.getStatus();
+
+        long revision = activeSessionStore.attach(session);
+        if (revision != context.sessionRevision()) {
+            throw new ConflictException("Session " + sessionId + " was modified while the translation was evaluated");
+        }
 
         // Mark session as IN_PROGRESS on first submission
         if (session.getStatus() == ParagraphSession.Status.NOT_STARTED) {
             session.setStatus(ParagraphSession.Status.IN_PROGRESS);
         }
 
-        if (session.getStatus() != ParagraphSession.Status.IN_PROGRESS) {
+        boolean isRetry = context.isRetry();
+        int currentIndex = context.sentenceIndex();
+        double accuracy = calculateAccuracy(feedback);
+        int pointsEarned = isRetry ? 0 : calculatePoints(accuracy);
+        session.recordSubmission(currentIndex, accuracy);
+
+        SentenceSubmission submission = phaseTracer.trace("persist", sessionId,
+                () -> saveSubmission(session, context, request, feedback, accuracy, pointsEarned));
+        phaseTracer.trace("summary-errors", sessionId, () -> recordSummaryErrors(session, submission, feedback));
+
+        trackErrors(session, feedback);
+
+        if (!isRetry) {
+            session.setTotalPoints(session.getTotalPoints() + pointsEarned);
+        }
+
+        if (accuracy < 80.0 && !isRetry) {
+            outboxService.publish(OutboxEvent.Type.REVIEW_QUEUE, sessionId, Map.of(
+                    "userId", session.getUserId(),
+                    "submissionId", submission.getId()));
+        }
+
+        boolean passedThreshold = accuracy >= 80.0;
+        boolean isLastSentence = session.isLastSentence();
+        int nextIndex = currentIndex;
+        String nextSentence = null;
+
+        // Trigger prefetch during session (at halfway point) for random mode
+        phaseTracer.trace("prefetch", sessionId, () -> triggerPrefetchIfNeeded(session, accuracy));
+
+        // Increment daily progress when user passes a sentence (not retry)
+        if (passedThreshold && !isRetry) {
+            outboxService.publish(OutboxEvent.Type.DAILY_PROGRESS, sessionId, Map.of("userId", session.getUserId()));
+            
+            if (!isLastSentence) {
+                session.advanceToNextSentence();
+                nextIndex = session.getCurrentSentenceIndex();
+                nextSentence = context.sentences().get(nextIndex);
+            } else {
+                completeSession(session);
+            }
+        } else if (isLastSentence && !passedThreshold) {
+            // If failed the last sentence, still mark as complete (user finished all attempts)
+            completeSession(session);
+        }
+
+        phaseTracer.trace("save-session", sessionId, () -> saveSessionState(session, revision, previousStatus));
+
+        return SentenceSubmissionResponse.fromEntity(submission, feedback, isLastSentence, nextIndex, nextSentence);
+    }
+
+    private SubmissionContext loadSubmissionContext(Long sessionId, SentenceSubmitRequest request) {
+        ParagraphSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+
+        if (session.getStatus() != ParagraphSession.Status.NOT_STARTED
+                && session.getStatus() != ParagraphSession.Status.IN_PROGRESS) {
             throw new RuntimeException("Session is not in progress");
         }
+        long revision = activeSessionStore.attach(session);
 
         Paragraph paragraph = session.getParagraph();
         List<String> sentences = paragraph.getSentences();
@@ -113,106 +259,87 @@ public class SessionService {
             throw new RuntimeException("No more sentences to translate");
         }
 
-        String originalSentence = sentences.get(currentIndex);
-        
+        // A stale tab or a repeated click answers a sentence the session has already moved past
+        if (request.getSentenceIndex() != null && request.getSentenceIndex() != currentIndex) {
+            throw new ConflictException("Sentence " + request.getSentenceIndex()
+                    + " is not the current sentence of session " + sessionId + " (expected " + currentIndex + ")");
+        }
+
         // Get paragraph context and previous translations for tense consistency
-        String paragraphContext = paragraph.getContent();
         List<String> previousTranslations = session.getSubmissions().stream()
                 .filter(s -> !Boolean.TRUE.equals(s.getSkipped()) && s.getCorrectTranslation() != null)
                 .sorted((a, b) -> a.getSentenceIndex() - b.getSentenceIndex())
                 .map(SentenceSubmission::getCorrectTranslation)
                 .toList();
-        
-        TranslationFeedback feedback = aiService.evaluateTranslation(
-                originalSentence, 
-                request.getUserTranslation(),
-                paragraphContext,
-                previousTranslations
-        );
 
-        double accuracy = calculateAccuracy(feedback);
-        int pointsEarned = isRetry ? 0 : calculatePoints(accuracy);
-
-        String feedbackJson = null;
-        try {
-            feedbackJson = objectMapper.writeValueAsString(feedback);
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing feedback", e);
-        }
+        return new SubmissionContext(
+                session.getId(),
+                revision,
+                sentences,
+                currentIndex,
+                sentences.get(currentIndex),
+                paragraph.getContent(),
+                previousTranslations,
+                isRetry,
+                parentSubmission != null ? parentSubmission.getId() : null,
+                parentSubmission != null && parentSubmission.getRetryAttempt() != null
+                        ? parentSubmission.getRetryAttempt() : 0
+        );
+    }
 
+    private SentenceSubmission saveSubmission(ParagraphSession session, SubmissionContext context,
+                                              SentenceSubmitRequest request, TranslationFeedback feedback,
+                                              double accuracy, int pointsEarned) {
+        SentenceSubmission parentSubmission = null;
         int retryAttempt = 0;
-        if (isRetry) {
-            retryAttempt = (parentSubmission.getRetryAttempt() != null ? parentSubmission.getRetryAttempt() : 0) + 1;
+        if (context.isRetry()) {
+            parentSubmission = submissionRepository.getReferenceById(context.parentSubmissionId());
+            retryAttempt = context.parentRetryAttempt() + 1;
         }
 
+        FeedbackPayload payload = FeedbackPayload.of(feedback);
         SentenceSubmission submission = SentenceSubmission.builder()
                 .session(session)
-                .sentenceIndex(currentIndex)
-                .originalSentence(originalSentence)
+                .sentenceIndex(context.sentenceIndex())
+                .originalSentence(context.originalSentence())
                 .userTranslation(request.getUserTranslation())
                 .correctTranslation(feedback.getCorrectTranslation())
                 .accuracy(accuracy)
                 .grammarScore(feedback.getScores() != null ? feedback.getScores().getGrammarScore() : null)
                 .wordChoiceScore(feedback.getScores() != null ? feedback.getScores().getWordChoiceScore() : null)
                 .naturalnessScore(feedback.getScores() != null ? feedback.getScores().getNaturalnessScore() : null)
-                .feedbackJson(feedbackJson)
+                .feedbackHash(feedbackBlobService.store(payload))
+                .feedback(payload)
                 .pointsEarned(pointsEarned)
                 .skipped(false)
                 .retryAttempt(retryAttempt)
                 .parentSubmission(parentSubmission)
                 .build();
 
-        submissionRepository.save(submission);
-
-        trackErrors(session.getUserId(), feedback);
-
-        if (!isRetry) {
-            session.setTotalPoints(session.getTotalPoints() + pointsEarned);
-        }
-
-        if (accuracy < 80.0 && !isRetry) {
-            reviewService.addToReviewQueue(session.getUserId(), submission.getId());
-        }
-
-        boolean passedThreshold = accuracy >= 80.0;
-        boolean isLastSentence = session.isLastSentence();
-        int nextIndex = currentIndex;
-        String nextSentence = null;
-
-        // Trigger prefetch during session (at halfway point) for random mode
-        triggerPrefetchIfNeeded(session, accuracy);
-
-        // Increment daily progress when user passes a sentence (not retry)
-        if (passedThreshold && !isRetry) {
-            dailyGoalService.incrementDailyProgress(session.getUserId());
-            
-            if (!isLastSentence) {
-                session.advanceToNextSentence();
-                nextIndex = session.getCurrentSentenceIndex();
-                nextSentence = sentences.get(nextIndex);
-            } else {
-                session.complete();
-                createSessionSummary(session);
-                creditsService.awardPointsForSession(session.getUserId(), session.getTotalPoints(), true);
-                notifyRandomSessionIfApplicable(session);
-            }
-        } else if (isLastSentence && !passedThreshold) {
-            // If failed the last sentence, still mark as complete (user finished all attempts)
-            session.complete();
-            createSessionSummary(session);
-            creditsService.awardPointsForSession(session.getUserId(), session.getTotalPoints(), true);
-            notifyRandomSessionIfApplicable(session);
-        }
-
-        sessionRepository.save(session);
+        return submissionRepository.save(submission);
+    }
 
-        return SentenceSubmissionResponse.fromEntity(submission, feedback, isLastSentence, nextIndex, nextSentence);
+    private void completeSession(ParagraphSession session) {
+        Long sessionId = session.getId();
+        session.complete();
+        phaseTracer.trace("summary", sessionId, () -> createSessionSummary(session));
+        publishSessionCredits(session);
+        notifyRandomSessionIfApplicable(session);
     }
 
-    @Transactional
     public SentenceSubmissionResponse skipSentence(Long sessionId) {
-        ParagraphSession session = sessionRepository.findById(sessionId)
+        return sessionMailbox.run(sessionId, SKIP_OPERATION, () -> {
+            SentenceSubmissionResponse response = writeTransaction.execute(status -> applySkip(sessionId));
+            refreshSessionView(sessionId);
+            return response;
+        });
+    }
+
+    private SentenceSubmissionResponse applySkip(Long sessionId) {
+        ParagraphSession session = sessionRepository.findReadOnlyById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        ParagraphSession.Status previousStatus = session.getStatus();
+        long revision = activeSessionStore.attach(session);
 
         // Mark session as IN_PROGRESS on first skip
         if (session.getStatus() == ParagraphSession.Status.NOT_STARTED) {
@@ -242,6 +369,7 @@ public class SessionService {
                 .accuracy(0.0)
                 .build();
 
+        session.recordSubmission(currentIndex, 0.0);
         submissionRepository.save(submission);
 
         session.setTotalCredits(session.getTotalCredits() - 1);
@@ -257,17 +385,34 @@ public class SessionService {
         } else {
             session.complete();
             createSessionSummary(session);
-            creditsService.awardPointsForSession(session.getUserId(), session.getTotalPoints(), true);
+            publishSessionCredits(session);
         }
 
-        sessionRepository.save(session);
+        saveSessionState(session, revision, previousStatus);
 
         return SentenceSubmissionResponse.fromEntity(submission, null, isLastSentence, nextIndex, nextSentence);
     }
 
+    /**
+     * Store the session's new state in the active session store. Status changes, including
+     * completion, are also written to Postgres right away; everything else is flushed later.
+     */
+    private void saveSessionState(ParagraphSession session, long revision, ParagraphSession.Status previousStatus) {
+        if (session.getStatus() != previousStatus) {
+            session.setStateRevision(revision + 1);
+            activeSessionStore.writeThrough(session);
+        }
+        activeSessionStore.save(session, revision);
+        if (session.getStatus() == ParagraphSession.Status.COMPLETED) {
+            activeSessionStore.evictAfterCommit(session.getId());
+        }
+    }
+
+    @Transactional(readOnly = true)
     public SessionProgressResponse getProgress(Long sessionId) {
         ParagraphSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
+        activeSessionStore.overlay(session);
 
         int totalSentences = session.getParagraph().getSentenceCount();
         int completedSentences = session.getCompletedSentenceCount();
@@ -284,10 +429,38 @@ public class SessionService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<SessionResponse> getUserSessions(Long userId) {
-        return sessionRepository.findByUserId(userId).stream()
-                .map(SessionResponse::fromEntity)
-                .toList();
+        List<ParagraphSession> sessions = sessionRepository.findByUserId(userId);
+        activeSessionStore.overlayAll(sessions);
+        return sessions.stream().map(this::toResponse).toList();
+    }
+
+    private SessionResponse toResponse(ParagraphSession session) {
+        if (session.getSubmissions() != null) {
+            feedbackBlobService.resolve(session.getSubmissions());
+        }
+        return SessionResponse.fromEntity(session);
+    }
+
+    /**
+     * One page of a user's sessions, newest first, read through the list projection.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SessionListItem> getUserSessionsPage(
+            Long userId, String cursor, int size, boolean includeTotal) {
+        int pageSize = KeysetCursor.pageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor, SESSION_LIST_SORT);
+        List<SessionListItem> items = sessionRepository.findListItemsByUserId(
+                userId, after != null ? after.id() : Long.MAX_VALUE, PageRequest.of(0, pageSize + 1));
+
+        activeSessionStore.overlayItems(items.subList(0, Math.min(items.size(), pageSize)));
+        CursorPageResponse<SessionListItem> page = CursorPageResponse.fromRows(items, pageSize, item -> item,
+                item -> KeysetCursor.of(SESSION_LIST_SORT, null, item.getId()).encode());
+        if (includeTotal) {
+            page.setTotal(sessionRepository.countByUserId(userId));
+        }
+        return page;
     }
 
     private double calculateAccuracy(TranslationFeedback feedback) {
@@ -309,48 +482,40 @@ public class SessionService {
         return 2;
     }
 
-    private void trackErrors(Long userId, TranslationFeedback feedback) {
+    private void trackErrors(ParagraphSession session, TranslationFeedback feedback) {
         if (feedback == null || feedback.getScores() == null) {
             return;
         }
 
         ScoreBreakdown scores = feedback.getScores();
-        
+        List<String> errorTypes = new ArrayList<>();
+        List<String> errorCategories = new ArrayList<>();
+
         if (scores.getGrammarScore() < 80) {
-            trackErrorCategory(userId, ErrorAnalytics.ErrorType.GRAMMAR, extractGrammarCategory(feedback));
+            errorTypes.add(ErrorAnalytics.ErrorType.GRAMMAR.name());
+            errorCategories.add(categoryOrGeneral(extractGrammarCategory(feedback)));
         }
         
         if (scores.getWordChoiceScore() < 80) {
-            trackErrorCategory(userId, ErrorAnalytics.ErrorType.WORD_CHOICE, extractWordChoiceCategory(feedback));
+            errorTypes.add(ErrorAnalytics.ErrorType.WORD_CHOICE.name());
+            errorCategories.add(categoryOrGeneral(extractWordChoiceCategory(feedback)));
         }
         
         if (scores.getNaturalnessScore() < 80) {
-            trackErrorCategory(userId, ErrorAnalytics.ErrorType.NATURALNESS, extractNaturalnessCategory(feedback));
+            errorTypes.add(ErrorAnalytics.ErrorType.NATURALNESS.name());
+            errorCategories.add(categoryOrGeneral(extractNaturalnessCategory(feedback)));
         }
-    }
 
-    private void trackErrorCategory(Long userId, ErrorAnalytics.ErrorType errorType, String errorCategory) {
-        if (errorCategory == null || errorCategory.isEmpty()) {
-            errorCategory = "general";
+        if (!errorTypes.isEmpty()) {
+            outboxService.publish(OutboxEvent.Type.ERROR_ANALYTICS, session.getId(), Map.of(
+                    "userId", session.getUserId(),
+                    "errorTypes", String.join(",", errorTypes),
+                    "errorCategories", String.join(",", errorCategories)));
         }
+    }
 
-        var existingError = errorAnalyticsRepository.findByUserIdAndErrorTypeAndErrorCategory(
-                userId, errorType, errorCategory);
-
-        if (existingError.isPresent()) {
-            ErrorAnalytics error = existingError.get();
-            error.incrementCount();
-            errorAnalyticsRepository.save(error);
-        } else {
-            ErrorAnalytics newError = ErrorAnalytics.builder()
-                    .userId(userId)
-                    .errorType(errorType)
-                    .errorCategory(errorCategory)
-                    .count(1)
-                    .lastOccurrence(LocalDateTime.now())
-                    .build();
-            errorAnalyticsRepository.save(newError);
-        }
+    private String categoryOrGeneral(String errorCategory) {
+        return errorCategory == null || errorCategory.isEmpty() ? "general" : errorCategory;
     }
 
     private String extractGrammarCategory(TranslationFeedback feedback) {
@@ -400,100 +565,89 @@ public class SessionService {
         return "general";
     }
 
+    /**
+     * Finish the summary that was built up submission by submission; only the final totals are written here.
+     */
     private void createSessionSummary(ParagraphSession session) {
-        List<SentenceSubmission> submissions = session.getSubmissions();
-        int grammarErrors = 0;
-        int wordChoiceErrors = 0;
-        int naturalnessErrors = 0;
-        int totalErrors = 0;
+        SessionSummaryEvent summaryEvent = new SessionSummaryEvent();
+        summaryEvent.sessionId = session.getId();
+        summaryEvent.begin();
 
-        List<Map<String, Object>> allErrors = new ArrayList<>();
+        SessionSummary summary = sessionSummaryRepository.findBySessionId(session.getId())
+                .orElseGet(() -> rebuildSessionSummary(session));
 
-        for (SentenceSubmission submission : submissions) {
-            if (Boolean.TRUE.equals(submission.getSkipped())) {
-                continue;
-            }
+        summary.setTotalSentences(session.getParagraph().getSentenceCount());
+        summary.setCompletedSentences(session.getCompletedSentenceCount());
+        summary.setAverageAccuracy(session.getAverageAccuracy());
+        summary.setTotalPoints(session.getTotalPoints());
 
-            if (submission.getFeedbackJson() != null) {
-                try {
-                    Map<String, Object> feedback = objectMapper.readValue(
-                        submission.getFeedbackJson(), 
-                        new TypeReference<Map<String, Object>>() {}
-                    );
-                    
-                    Object errorsObj = feedback.get("errors");
-                    if (errorsObj instanceof List<?>) {
-                        List<?> errors = (List<?>) errorsObj;
-                        for (Object errorObj : errors) {
-                            if (errorObj instanceof Map<?, ?>) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> errorMap = (Map<String, Object>) errorObj;
-                                String type = (String) errorMap.get("type");
-                                
-                                if (type != null) {
-                                    String typeLower = type.toLowerCase();
-                                    if (typeLower.contains("grammar")
-                                            || typeLower.contains("tense")
-                                            || typeLower.contains("article")
-                                            || typeLower.contains("preposition")) {
-                                        grammarErrors++;
-                                    } else if (typeLower.contains("word")
-                                            || typeLower.contains("vocabulary")) {
-                                        wordChoiceErrors++;
-                                    } else if (typeLower.contains("natural")
-                                            || typeLower.contains("flow")) {
-                                        naturalnessErrors++;
-                                    }
-                                    totalErrors++;
-
-                                    Map<String, Object> errorDetail = Map.of(
-                                        "sentenceIndex", submission.getSentenceIndex(),
-                                        "originalSentence", submission.getOriginalSentence() != null
-                                                ? submission.getOriginalSentence() : "",
-                                        "userTranslation", submission.getUserTranslation() != null
-                                                ? submission.getUserTranslation() : "",
-                                        "type", type,
-                                        "quickFix", errorMap.get("quickFix") != null
-                                                ? errorMap.get("quickFix") : "",
-                                        "correction", errorMap.get("correction") != null
-                                                ? errorMap.get("correction") : ""
-                                    );
-                                    allErrors.add(errorDetail);
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error parsing feedback JSON for summary", e);
-                }
-            }
+        sessionSummaryRepository.save(summary);
+
+        summaryEvent.submissions = session.getScoredCount();
+        summaryEvent.errors = summary.getTotalErrors();
+        summaryEvent.commit();
+    }
+
+    /**
+     * Fold a freshly evaluated submission's errors into the session's running summary. The first
+     * submission creates the summary; later ones append to it in one statement, without loading it.
+     */
+    private void recordSummaryErrors(ParagraphSession session, SentenceSubmission submission,
+                                     TranslationFeedback feedback) {
+        if (session.getScoredCount() == 1) {
+            SessionSummary summary = newSessionSummary(session);
+            summary.recordErrors(submission, feedback.getErrors());
+            sessionSummaryRepository.save(summary);
+            return;
+        }
+
+        List<SessionSummaryResponse.ErrorDetail> details =
+                SessionSummary.errorDetails(submission, feedback.getErrors());
+        if (details.isEmpty()) {
+            return;
+        }
+        ErrorAnalytics.ErrorTally tally = ErrorAnalytics.ErrorTally.of(feedback.getErrors());
+        int updated = sessionSummaryRepository.appendErrors(session.getId(), tally.total(), tally.grammar(),
+                tally.wordChoice(), tally.naturalness(), toJson(details));
+        if (updated == 0) {
+            // Earlier submissions predate incremental summaries (or were skips); rebuild once from the rows
+            sessionSummaryRepository.save(rebuildSessionSummary(session));
         }
+    }
 
-        String errorsJson = null;
+    private String toJson(Object value) {
         try {
-            errorsJson = objectMapper.writeValueAsString(allErrors);
+            return objectMapper.writeValueAsString(value);
         } catch (JsonProcessingException e) {
-            log.error("Error serializing errors JSON", e);
+            throw new RuntimeException("Failed to serialize summary errors", e);
         }
+    }
 
-        SessionSummary summary = SessionSummary.builder()
-            .session(session)
-            .paragraphId(session.getParagraph().getId())
-            .userId(session.getUserId())
-            .totalSentences(session.getParagraph().getSentenceCount())
-            .completedSentences(session.getCompletedSentenceCount())
-            .averageAccuracy(session.getAverageAccuracy())
-            .totalErrors(totalErrors)
-            .grammarErrors(grammarErrors)
-            .wordChoiceErrors(wordChoiceErrors)
-            .naturalnessErrors(naturalnessErrors)
-            .totalPoints(session.getTotalPoints())
-            .errorsJson(errorsJson)
-            .build();
+    private SessionSummary newSessionSummary(ParagraphSession session) {
+        return SessionSummary.builder()
+                .session(session)
+                .paragraphId(session.getParagraph().getId())
+                .userId(session.getUserId())
+                .totalSentences(session.getParagraph().getSentenceCount())
+                .completedSentences(0)
+                .averageAccuracy(0.0)
+                .build();
+    }
 
-        sessionSummaryRepository.save(summary);
+    private SessionSummary rebuildSessionSummary(ParagraphSession session) {
+        SessionSummary summary = newSessionSummary(session);
+        List<SentenceSubmission> submissions =
+                submissionRepository.findBySessionIdOrderBySentenceIndexAsc(session.getId());
+        feedbackBlobService.resolve(submissions);
+        for (SentenceSubmission submission : submissions) {
+            if (!Boolean.TRUE.equals(submission.getSkipped()) && submission.getFeedback() != null) {
+                summary.recordErrors(submission, submission.getFeedback().getErrors());
+            }
+        }
+        return summary;
     }
 
+    @Transactional(readOnly = true)
     public SessionSummaryResponse getSessionSummary(Long sessionId) {
         ParagraphSession session = sessionRepository.findById(sessionId)
             .orElseThrow(() -> new RuntimeException("Session not found: " + sessionId));
@@ -506,29 +660,6 @@ public class SessionService {
         SessionSummary summary = sessionSummaryRepository.findBySessionId(sessionId)
             .orElseThrow(() -> new RuntimeException("Session summary not found: " + sessionId));
 
-        List<SessionSummaryResponse.ErrorDetail> errorDetails = new ArrayList<>();
-        if (summary.getErrorsJson() != null) {
-            try {
-                List<Map<String, Object>> errors = objectMapper.readValue(
-                    summary.getErrorsJson(),
-                    new TypeReference<List<Map<String, Object>>>() {}
-                );
-                
-                for (Map<String, Object> error : errors) {
-                    errorDetails.add(SessionSummaryResponse.ErrorDetail.builder()
-                        .sentenceIndex((Integer) error.get("sentenceIndex"))
-                        .originalSentence((String) error.get("originalSentence"))
-                        .userTranslation((String) error.get("userTranslation"))
-                        .type((String) error.get("type"))
-                        .quickFix((String) error.get("quickFix"))
-                        .correction((String) error.get("correction"))
-                        .build());
-                }
-            } catch (Exception e) {
-                log.error("Error parsing errors JSON", e);
-            }
-        }
-
         return SessionSummaryResponse.builder()
             .sessionId(session.getId())
             .paragraphId(session.getParagraph().getId())
@@ -544,22 +675,25 @@ public class SessionService {
                 .wordChoiceErrors(summary.getWordChoiceErrors())
                 .naturalnessErrors(summary.getNaturalnessErrors())
                 .build())
-            .allErrors(errorDetails)
+            .allErrors(summary.getErrors())
             .build();
     }
 
+    private void publishSessionCredits(ParagraphSession session) {
+        outboxService.publish(OutboxEvent.Type.SESSION_CREDITS, session.getId(), Map.of(
+                "userId", session.getUserId(),
+                "points", session.getTotalPoints()));
+    }
+
     private void notifyRandomSessionIfApplicable(ParagraphSession session) {
-        try {
-            randomSessionService.onParagraphSessionCompleted(
-                session.getId(),
-                session.getAverageAccuracy(),
-                calculateTimeSpent(session),
-                session.getTotalPoints(),
-                session.getTotalCredits()
-            );
-        } catch (Exception e) {
-            log.debug("Session {} is not part of a random session", session.getId());
+        if (session.getRandomSessionParagraph() == null) {
+            return;
         }
+        outboxService.publish(OutboxEvent.Type.RANDOM_SESSION_COMPLETED, session.getId(), Map.of(
+                "accuracy", session.getAverageAccuracy(),
+                "timeSpent", calculateTimeSpent(session),
+                "points", session.getTotalPoints(),
+                "credits", session.getTotalCredits()));
     }
 
     private Integer calculateTimeSpent(ParagraphSession session) {
@@ -583,7 +717,7 @@ public class SessionService {
 
             var randomSession = randomSessionParagraph.getRandomSession();
             Paragraph paragraph = session.getParagraph();
-            int totalSentences = paragraph.getSentences().size();
+            int totalSentences = paragraph.getSentenceCount();
             int currentSentence = session.getCurrentSentenceIndex();
 
             // Trigger prefetch at 50% progress
@@ -635,4 +769,20 @@ public class SessionService {
         
         return validSubmissions > 0 ? totalAccuracy / validSubmissions : null;
     }
+
+    /**
+     * Everything the AI evaluation and the write phase need, captured without keeping entities attached.
+     */
+    private record SubmissionContext(
+            Long sessionId,
+            long sessionRevision,
+            List<String> sentences,
+            int sentenceIndex,
+            String originalSentence,
+            String paragraphContext,
+            List<String> previousTranslations,
+            boolean isRetry,
+            Long parentSubmissionId,
+            int parentRetryAttempt
+    ) {}
 }
@@ -0,0 +1,143 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.SessionResponse;
+import com.enlist.be.profiling.CacheLookupEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rendered {@link SessionResponse} JSON kept in Redis, so polling a session is one hash read
+ * instead of loading the session, paragraph and submissions. Views are written after each change
+ * and tagged with the session version; an older render never replaces a newer one.
+ */
+@Service
+@Slf4j
+public class SessionViewCache {
+
+    private static final String VIEW_KEY_PREFIX = "session:view:";
+    private static final int EVICT_BATCH_SIZE = 500;
+
+    private static final RedisScript<Long> PUT_IF_NEWER = new DefaultRedisScript<>("""
+            local current = redis.call('HGET', KEYS[1], 'version')
+            if current and tonumber(current) > tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'version', ARGV[1], 'etag', ARGV[2], 'body', ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Duration ttl;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public record View(String etag, byte[] body) {
+    }
+
+    public SessionViewCache(RedisTemplate<String, byte[]> bytesRedisTemplate,
+                            @Value("${session.view-cache-ttl:6h}") Duration ttl) {
+        this.redisTemplate = bytesRedisTemplate;
+        this.ttl = ttl;
+    }
+
+    public Optional<View> get(Long sessionId) {
+        String key = VIEW_KEY_PREFIX + sessionId;
+        CacheLookupEvent lookupEvent = new CacheLookupEvent();
+        lookupEvent.cache = "session-view";
+        lookupEvent.key = key;
+        lookupEvent.begin();
+        try {
+            List<byte[]> fields = redisTemplate.<String, byte[]>opsForHash().multiGet(key, List.of("etag", "body"));
+            if (fields.size() < 2 || fields.get(0) == null || fields.get(1) == null) {
+                return Optional.empty();
+            }
+            lookupEvent.hit = true;
+            return Optional.of(new View(new String(fields.get(0), StandardCharsets.UTF_8), fields.get(1)));
+        } catch (DataAccessException e) {
+            log.warn("Session view lookup failed for session {}: {}", sessionId, e.getMessage());
+            return Optional.empty();
+        } finally {
+            lookupEvent.commit();
+        }
+    }
+
+    /**
+     * Render the view and store it unless a newer version is already cached.
+     */
+    public View put(Long sessionId, Long version, SessionResponse response) {
+        View view = render(response);
+        try {
+            redisTemplate.execute(PUT_IF_NEWER, List.of(VIEW_KEY_PREFIX + sessionId),
+                    ascii(String.valueOf(version != null ? version : 0L)),
+                    ascii(view.etag()),
+                    view.body(),
+                    ascii(String.valueOf(ttl.toMillis())));
+        } catch (DataAccessException e) {
+            log.warn("Failed to cache view of session {}: {}", sessionId, e.getMessage());
+        }
+        return view;
+    }
+
+    /**
+     * Drop the cached views of the given sessions, e.g. after their paragraph changed.
+     */
+    public void evict(Collection<Long> sessionIds) {
+        List<String> keys = sessionIds.stream().map(id -> VIEW_KEY_PREFIX + id).toList();
+        try {
+            for (int from = 0; from < keys.size(); from += EVICT_BATCH_SIZE) {
+                redisTemplate.delete(keys.subList(from, Math.min(from + EVICT_BATCH_SIZE, keys.size())));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to evict {} session views: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Like {@link #put}, but only writes once the surrounding transaction commits.
+     */
+    public void putAfterCommit(Long sessionId, Long version, SessionResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(sessionId, version, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(sessionId, version, response);
+            }
+        });
+    }
+
+    private View render(SessionResponse response) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new View("\"" + DigestUtils.md5DigestAsHex(body) + "\"", body);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to render session view", e);
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
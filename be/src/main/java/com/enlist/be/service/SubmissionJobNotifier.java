@@ -0,0 +1,103 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.SubmissionJobConfig;
+import com.enlist.be.dto.SubmissionJobResponse;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes submission job updates to SSE subscribers connected to this node. Job changes are
+ * announced over Redis pub/sub, so the worker and the subscriber may live on different nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionJobNotifier implements MessageListener {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SubmissionJobService jobService;
+    private final SubmissionJobConfig config;
+
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(SubmissionJobService.JOB_EVENTS_CHANNEL));
+    }
+
+    public SseEmitter subscribe(String jobId, Long userId) {
+        SubmissionJobResponse job = jobService.getJob(jobId, userId);
+        SseEmitter emitter = new SseEmitter(config.getSseTimeout().toMillis());
+
+        if (job.getStatus().isTerminal()) {
+            send(emitter, job);
+            emitter.complete();
+            return emitter;
+        }
+
+        emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> remove(jobId, emitter));
+        emitter.onTimeout(() -> remove(jobId, emitter));
+        emitter.onError(e -> remove(jobId, emitter));
+
+        // Re-read after registering so an update published in between is not missed
+        jobService.findJob(jobId).ifPresent(current -> deliver(jobId, current));
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String jobId = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!emitters.containsKey(jobId)) {
+            return;
+        }
+        jobService.findJob(jobId).ifPresent(job -> deliver(jobId, job));
+    }
+
+    private void deliver(String jobId, SubmissionJobResponse job) {
+        List<SseEmitter> subscribers = emitters.get(jobId);
+        if (subscribers == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscribers) {
+            if (send(emitter, job) && job.getStatus().isTerminal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private boolean send(SseEmitter emitter, SubmissionJobResponse job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("job")
+                    .data(job, MediaType.APPLICATION_JSON));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping SSE subscriber for job {}: {}", job.getJobId(), e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(String jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
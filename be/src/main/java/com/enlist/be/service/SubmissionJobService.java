@@ -0,0 +1,156 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.SubmissionJobConfig;
+import com.enlist.be.dto.SentenceSubmissionResponse;
+import com.enlist.be.dto.SentenceSubmitRequest;
+import com.enlist.be.dto.SubmissionJobResponse;
+import com.enlist.be.exception.BadRequestException;
+import com.enlist.be.exception.ConflictException;
+import com.enlist.be.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Queues translation submissions on a Redis Stream and keeps each job's state in Redis,
+ * so any node can run the job and any node can answer for its result.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionJobService {
+
+    private static final String JOB_KEY_PREFIX = "submission:job:";
+    public static final String JOB_EVENTS_CHANNEL = "submission:job-events";
+
+    private final StringRedisTemplate redisTemplate;
+    private final SubmissionJobConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /**
+     * @param idempotencyKey the client's Idempotency-Key, or null to key the submission by the job id;
+     *                       either way a job delivered twice is evaluated once
+     */
+    public SubmissionJobResponse enqueue(Long userId, Long sessionId, SentenceSubmitRequest request,
+                                         String idempotencyKey) {
+        if (request.getUserTranslation() == null || request.getUserTranslation().isBlank()) {
+            throw new BadRequestException("Translation must not be empty");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SubmissionJobResponse job = SubmissionJobResponse.builder()
+                .jobId(UUID.randomUUID().toString())
+                .sessionId(sessionId)
+                .userId(userId)
+                .status(SubmissionJobResponse.Status.QUEUED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        save(job);
+
+        Map<String, String> fields = Map.of(
+                "jobId", job.getJobId(),
+                "sessionId", sessionId.toString(),
+                "idempotencyKey", idempotencyKey != null ? idempotencyKey : job.getJobId(),
+                "request", toJson(request)
+        );
+        redisTemplate.opsForStream().add(
+                StreamRecords.newRecord().in(config.getStreamKey()).ofMap(fields),
+                XAddOptions.maxlen(config.getMaxStreamLength()).approximateTrimming(true));
+
+        log.debug("Queued submission job {} for session {}", job.getJobId(), sessionId);
+        return job;
+    }
+
+    public SubmissionJobResponse getJob(String jobId, Long userId) {
+        return findJob(jobId)
+                .filter(job -> job.getUserId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Submission job not found: " + jobId));
+    }
+
+    public Optional<SubmissionJobResponse> findJob(String jobId) {
+        String json = redisTemplate.opsForValue().get(JOB_KEY_PREFIX + jobId);
+        if (json == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json, SubmissionJobResponse.class));
+        } catch (JsonProcessingException e) {
+            log.error("Error reading submission job {}", jobId, e);
+            return Optional.empty();
+        }
+    }
+
+    public SentenceSubmitRequest readRequest(String json) {
+        try {
+            return objectMapper.readValue(json, SentenceSubmitRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed submission payload", e);
+        }
+    }
+
+    public void markRunning(SubmissionJobResponse job) {
+        job.setStatus(SubmissionJobResponse.Status.RUNNING);
+        update(job);
+    }
+
+    public void complete(SubmissionJobResponse job, SentenceSubmissionResponse result) {
+        job.setStatus(SubmissionJobResponse.Status.COMPLETED);
+        job.setResult(result);
+        update(job);
+    }
+
+    public void fail(SubmissionJobResponse job, Exception cause) {
+        job.setStatus(SubmissionJobResponse.Status.FAILED);
+        job.setError(cause.getMessage());
+        job.setErrorStatus(statusFor(cause).value());
+        update(job);
+    }
+
+    private void update(SubmissionJobResponse job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        save(job);
+        redisTemplate.convertAndSend(JOB_EVENTS_CHANNEL, job.getJobId());
+    }
+
+    private void save(SubmissionJobResponse job) {
+        redisTemplate.opsForValue().set(JOB_KEY_PREFIX + job.getJobId(), toJson(job), config.getResultTtl());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize submission job", e);
+        }
+    }
+
+    private HttpStatus statusFor(Exception cause) {
+        if (cause instanceof ConflictException || cause instanceof ObjectOptimisticLockingFailureException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (cause instanceof BadRequestException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (cause instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
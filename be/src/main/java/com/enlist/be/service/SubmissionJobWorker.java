@@ -0,0 +1,203 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.SubmissionJobConfig;
+import com.enlist.be.dto.SentenceSubmissionResponse;
+import com.enlist.be.dto.SubmissionJobResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamListener;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes the submission stream with a pool of consumers in a shared group. Entries left
+ * pending by a node that died are claimed by the survivors on a schedule. Jobs are submitted
+ * under their idempotency key, so an entry delivered twice is evaluated once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionJobWorker implements StreamListener<String, MapRecord<String, String, String>> {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final SubmissionJobConfig config;
+    private final SubmissionJobService jobService;
+    private final SessionService sessionService;
+    private final ClusterLease clusterLease;
+
+    private final String nodeName = "node-" + UUID.randomUUID();
+    private ThreadPoolTaskExecutor executor;
+    /** Reclaimed entries queued or running on this node, so a later run does not claim them again. */
+    private final Set<RecordId> reclaiming = ConcurrentHashMap.newKeySet();
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    @PostConstruct
+    public void start() {
+        createGroupIfMissing();
+
+        // Each consumer holds a thread for good; the other half runs reclaimed entries
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getWorkerThreads() * 2);
+        executor.setMaxPoolSize(config.getWorkerThreads() * 2);
+        executor.setThreadNamePrefix("submission-worker-");
+        executor.initialize();
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .batchSize(1)
+                        .executor(executor)
+                        .errorHandler(e -> log.error("Submission stream polling failed", e))
+                        .build();
+        container = StreamMessageListenerContainer.create(connectionFactory, options);
+
+        // One consumer per worker thread; each polls and processes a single entry at a time
+        for (int i = 0; i < config.getWorkerThreads(); i++) {
+            container.register(StreamReadRequest.builder(
+                            StreamOffset.create(config.getStreamKey(), ReadOffset.lastConsumed()))
+                    .consumer(Consumer.from(config.getConsumerGroup(), nodeName + "-" + i))
+                    .autoAcknowledge(false)
+                    .cancelOnError(e -> false)
+                    .build(), this);
+        }
+        container.start();
+        log.info("Started {} submission workers as {}", config.getWorkerThreads(), nodeName);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> message) {
+        process(message, false);
+    }
+
+    /**
+     * Claim entries another consumer read but never acknowledged, e.g. because its node restarted.
+     * One node at a time does this, so nodes do not claim the same entries from each other. The
+     * claimed entries are evaluated on the worker pool, so the scheduler thread and the claim
+     * lease are only held for the claim itself.
+     */
+    @Scheduled(fixedDelayString = "${submission.jobs.claim-interval-ms:30000}")
+    public void claimAbandonedJobs() {
+        clusterLease.runExclusively("submission-jobs:reclaim", config.getClaimLease(), this::reclaim);
+    }
+
+    private void reclaim() {
+        PendingMessages pending = redisTemplate.opsForStream().pending(
+                config.getStreamKey(), config.getConsumerGroup(), Range.unbounded(), 50);
+
+        List<RecordId> stale = pending.stream()
+                .filter(p -> p.getElapsedTimeSinceLastDelivery().compareTo(config.getClaimIdleTimeout()) >= 0)
+                .map(PendingMessage::getId)
+                .filter(id -> !reclaiming.contains(id))
+                .toList();
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                config.getStreamKey(), config.getConsumerGroup(), nodeName + "-reclaim",
+                config.getClaimIdleTimeout(), stale.toArray(RecordId[]::new));
+
+        log.info("Claimed {} abandoned submission jobs", claimed.size());
+        for (MapRecord<String, Object, Object> record : claimed) {
+            MapRecord<String, String, String> entry =
+                    record.mapEntries(e -> Map.entry(e.getKey().toString(), e.getValue().toString()));
+            reclaiming.add(entry.getId());
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(entry, true);
+                    } finally {
+                        reclaiming.remove(entry.getId());
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                // Shutting down; the entry stays pending for the next node to claim
+                reclaiming.remove(entry.getId());
+            }
+        }
+    }
+
+    private void process(MapRecord<String, String, String> record, boolean reclaimed) {
+        String jobId = record.getValue().get("jobId");
+        try {
+            Optional<SubmissionJobResponse> found = jobService.findJob(jobId);
+            if (found.isEmpty() || found.get().getStatus().isTerminal()) {
+                return;
+            }
+
+            SubmissionJobResponse job = found.get();
+            Long sessionId = Long.valueOf(record.getValue().get("sessionId"));
+            // Entries queued before jobs carried a key fall back to the job id, like new ones without a header
+            String idempotencyKey = record.getValue().getOrDefault("idempotencyKey", jobId);
+            if (reclaimed && job.getStatus() == SubmissionJobResponse.Status.RUNNING) {
+                // The previous worker may have saved the submission without storing its response,
+                // so re-running it could grade the same translation against the next sentence
+                Optional<SentenceSubmissionResponse> stored =
+                        sessionService.findSubmittedTranslation(job.getUserId(), sessionId, idempotencyKey);
+                if (stored.isPresent()) {
+                    jobService.complete(job, stored.get());
+                } else {
+                    jobService.fail(job, new IllegalStateException("Evaluation was interrupted, please submit again"));
+                }
+                return;
+            }
+
+            jobService.markRunning(job);
+            try {
+                SentenceSubmissionResponse result = sessionService.submitTranslation(job.getUserId(), sessionId,
+                        jobService.readRequest(record.getValue().get("request")), idempotencyKey).response();
+                jobService.complete(job, result);
+            } catch (Exception e) {
+                log.warn("Submission job {} failed: {}", jobId, e.getMessage());
+                jobService.fail(job, e);
+            }
+        } finally {
+            redisTemplate.opsForStream().acknowledge(config.getStreamKey(), config.getConsumerGroup(), record.getId());
+        }
+    }
+
+    private void createGroupIfMissing() {
+        try {
+            redisTemplate.opsForStream().createGroup(config.getStreamKey(), ReadOffset.from("0"),
+                    config.getConsumerGroup());
+        } catch (DataAccessException e) {
+            // BUSYGROUP: another node already created it
+            log.debug("Consumer group {} already exists", config.getConsumerGroup());
+        }
+    }
+}
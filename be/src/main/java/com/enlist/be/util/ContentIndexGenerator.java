@@ -0,0 +1,57 @@
+package com.enlist.be.util;
+
+import com.enlist.be.dto.ParagraphSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build step (see the exec-maven-plugin execution in pom.xml) that parses every paragraph file
+ * under the given content root and writes {@link ParagraphMarkdownParser#INDEX_FILE} there, so
+ * the application can sync curated content at startup without reading the markdown files. A file
+ * that does not parse fails the build, naming the file.
+ */
+@Slf4j
+public final class ContentIndexGenerator {
+
+    private ContentIndexGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: ContentIndexGenerator <content root>");
+        }
+        Path root = Path.of(args[0]);
+        if (!Files.isDirectory(root)) {
+            log.info("No paragraph content at {}, skipping index", root);
+            return;
+        }
+
+        List<ParagraphSource> sources;
+        try (Stream<Path> files = Files.walk(root)) {
+            sources = files
+                    .filter(file -> file.toString().endsWith(".md"))
+                    .map(file -> parse(root, file))
+                    .sorted(Comparator.comparing(ParagraphSource::sourcePath))
+                    .toList();
+        }
+
+        new ObjectMapper().writeValue(root.resolve(ParagraphMarkdownParser.INDEX_FILE).toFile(), sources);
+        log.info("Indexed {} paragraphs into {}", sources.size(), root);
+    }
+
+    private static ParagraphSource parse(Path root, Path file) {
+        String sourcePath = root.relativize(file).toString().replace('\\', '/');
+        try {
+            return ParagraphMarkdownParser.parse(sourcePath, Files.readAllBytes(file));
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Failed to index paragraph file " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
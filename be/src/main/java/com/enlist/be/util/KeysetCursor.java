@@ -0,0 +1,72 @@
+package com.enlist.be.util;
+
+import com.enlist.be.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key value and id of the last row returned.
+ * Clients get it as an opaque string and send it back unchanged; {@code sort} names the ordering
+ * it was issued for, so a cursor cannot be replayed against a different one.
+ */
+public record KeysetCursor(String sort, String value, long id) {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static KeysetCursor of(String sort, Object value, long id) {
+        return new KeysetCursor(sort, value != null ? value.toString() : null, id);
+    }
+
+    public static int pageSize(int requested) {
+        return Math.clamp(requested, 1, MAX_PAGE_SIZE);
+    }
+
+    public String encode() {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Object[]{sort, value, id});
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor issued for {@code expectedSort}; null or blank means the first page.
+     */
+    public static KeysetCursor decode(String cursor, String expectedSort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        KeysetCursor decoded;
+        try {
+            Object[] parts = objectMapper.readValue(
+                    new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8), Object[].class);
+            decoded = new KeysetCursor((String) parts[0], (String) parts[1], ((Number) parts[2]).longValue());
+        } catch (IOException | RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+        if (!expectedSort.equals(decoded.sort())) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
+
+    public LocalDateTime timestamp() {
+        if (value == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
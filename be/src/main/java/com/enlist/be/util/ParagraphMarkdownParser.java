@@ -0,0 +1,98 @@
+package com.enlist.be.util;
+
+import com.enlist.be.dto.ParagraphSource;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses curated paragraph files: YAML frontmatter between {@code ---} lines (title, topic,
+ * difficulty) followed by the paragraph text. Safe to call from several threads at once.
+ */
+public final class ParagraphMarkdownParser {
+
+    /** Name of the precompiled index written next to the markdown files at build time. */
+    public static final String INDEX_FILE = "index.json";
+
+    // Yaml instances are not thread-safe, but are cheap to reuse on one thread
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(Yaml::new);
+
+    private ParagraphMarkdownParser() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the frontmatter is missing or malformed, or a required
+     *                                  field is missing; the message names {@code sourcePath}
+     */
+    public static ParagraphSource parse(String sourcePath, byte[] bytes) {
+        StringBuilder frontmatter = new StringBuilder();
+        StringBuilder content = new StringBuilder();
+        boolean inFrontmatter = false;
+        boolean frontmatterEnded = false;
+
+        for (String line : new String(bytes, StandardCharsets.UTF_8).split("\\R", -1)) {
+            if (line.trim().equals("---")) {
+                if (!inFrontmatter && !frontmatterEnded) {
+                    inFrontmatter = true;
+                    continue;
+                } else if (inFrontmatter) {
+                    inFrontmatter = false;
+                    frontmatterEnded = true;
+                    continue;
+                }
+            }
+
+            if (inFrontmatter) {
+                frontmatter.append(line).append("\n");
+            } else if (frontmatterEnded) {
+                content.append(line).append("\n");
+            }
+        }
+
+        Object metadata;
+        try {
+            metadata = YAML.get().load(frontmatter.toString());
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("Invalid frontmatter in " + sourcePath + ": " + e.getMessage(), e);
+        }
+        if (metadata == null) {
+            throw new IllegalArgumentException("No frontmatter found in " + sourcePath);
+        }
+        if (!(metadata instanceof Map<?, ?> fields)) {
+            throw new IllegalArgumentException("Frontmatter in " + sourcePath + " is not a set of fields");
+        }
+
+        String title = text(fields, "title", sourcePath);
+        String topic = text(fields, "topic", sourcePath);
+        String difficulty = text(fields, "difficulty", sourcePath);
+        String paragraphContent = content.toString().trim();
+        if (title == null || difficulty == null || paragraphContent.isEmpty()) {
+            throw new IllegalArgumentException("Missing required fields in " + sourcePath);
+        }
+
+        List<String> sentences = List.copyOf(VietnameseSentenceSegmenter.segment(paragraphContent));
+        return new ParagraphSource(sourcePath, sha256(bytes), title, topic, difficulty, paragraphContent, sentences);
+    }
+
+    private static String text(Map<?, ?> fields, String name, String sourcePath) {
+        Object value = fields.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException("Field " + name + " in " + sourcePath + " must be text");
+        }
+        return (String) value;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.enlist.be.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits Vietnamese (and mixed English) prose into sentences.
+ *
+ * <p>A sentence ends at '.', '!', '?' or an ellipsis followed by whitespace, with any closing
+ * quotes or brackets kept on the sentence. Title abbreviations such as "TP.", "ThS." or "Dr."
+ * never end a sentence, and a period or ellipsis followed by a lowercase word is treated as
+ * part of the running sentence.
+ */
+public final class VietnameseSentenceSegmenter {
+
+    private static final Set<String> TITLE_ABBREVIATIONS = Set.of(
+            "tp", "q", "p", "ths", "ts", "pgs", "gs", "bs", "ks", "cn", "ls", "nxb", "ubnd",
+            "mr", "mrs", "ms", "dr", "prof", "st", "jr", "sr", "no", "vs"
+    );
+
+    /** The regex split used before this segmenter; session indexes on older paragraphs refer to it. */
+    private static final Pattern LEGACY_BOUNDARY = Pattern.compile("(?<=[.!?])\\s+");
+
+    private static final String CLOSING = "\"'”’»)]}";
+    private static final String OPENING = "\"'“‘«([{";
+
+    private VietnameseSentenceSegmenter() {
+    }
+
+    public static List<String> segment(String text) {
+        List<String> sentences = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return sentences;
+        }
+
+        int length = text.length();
+        int start = 0;
+        int i = 0;
+        while (i < length) {
+            if (!isTerminator(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < length && isTerminator(text.charAt(end))) {
+                end++;
+            }
+            while (end < length && CLOSING.indexOf(text.charAt(end)) >= 0) {
+                end++;
+            }
+
+            if ((end == length || Character.isWhitespace(text.charAt(end))) && endsSentence(text, start, i, end)) {
+                addTrimmed(sentences, text.substring(start, end));
+                start = end;
+            }
+            i = end;
+        }
+
+        if (start < length) {
+            addTrimmed(sentences, text.substring(start));
+        }
+        return sentences;
+    }
+
+    /**
+     * Splits the way paragraphs were split before this segmenter existed. Paragraphs that already
+     * have sessions keep this split, since their sentence indexes and bitmaps were built on it.
+     */
+    public static List<String> legacySplit(String text) {
+        List<String> sentences = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return sentences;
+        }
+        for (String part : LEGACY_BOUNDARY.split(text)) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                sentences.add(trimmed);
+            }
+        }
+        return sentences;
+    }
+
+    private static boolean endsSentence(String text, int sentenceStart, int terminatorStart, int end) {
+        int next = end;
+        while (next < text.length() && Character.isWhitespace(text.charAt(next))) {
+            next++;
+        }
+        if (next == text.length()) {
+            return true;
+        }
+
+        String terminators = text.substring(terminatorStart, end);
+        boolean questionOrExclamation = terminators.indexOf('!') >= 0 || terminators.indexOf('?') >= 0;
+        if (questionOrExclamation) {
+            return true;
+        }
+
+        if (terminators.startsWith(".") && !terminators.startsWith("..")
+                && TITLE_ABBREVIATIONS.contains(wordBefore(text, sentenceStart, terminatorStart))) {
+            return false;
+        }
+
+        // A period or ellipsis followed by a lowercase word continues the same sentence
+        char nextChar = text.charAt(next);
+        return !Character.isLowerCase(nextChar);
+    }
+
+    private static String wordBefore(String text, int sentenceStart, int terminatorStart) {
+        int wordStart = terminatorStart;
+        while (wordStart > sentenceStart && !Character.isWhitespace(text.charAt(wordStart - 1))) {
+            wordStart--;
+        }
+        while (wordStart < terminatorStart && OPENING.indexOf(text.charAt(wordStart)) >= 0) {
+            wordStart++;
+        }
+        return text.substring(wordStart, terminatorStart).toLowerCase();
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '…';
+    }
+
+    private static void addTrimmed(List<String> sentences, String sentence) {
+        String trimmed = sentence.strip();
+        if (!trimmed.isEmpty()) {
+            sentences.add(trimmed);
+        }
+    }
+}
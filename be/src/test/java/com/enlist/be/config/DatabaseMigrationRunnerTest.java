@@ -0,0 +1,52 @@
+package com.enlist.be.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseMigrationRunnerTest {
+
+    private static final String CONTENT = "Tôi sống ở TP. Hồ Chí Minh. Bạn sống ở đâu?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DatabaseMigrationRunner runner;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void paragraphsWithSessionsKeepTheLegacySplit() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                Map.of("id", 1L, "content", CONTENT, "referenced", true),
+                Map.of("id", 2L, "content", CONTENT, "referenced", false)));
+
+        runner.segmentParagraphs();
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE paragraphs SET sentences = ?, sentence_count = ? WHERE id = ?"),
+                updates.capture());
+        assertThat(updates.getValue()).satisfiesExactly(
+                referenced -> assertThat(referenced).containsExactly(
+                        "[\"Tôi sống ở TP.\",\"Hồ Chí Minh.\",\"Bạn sống ở đâu?\"]", 3, 1L),
+                unreferenced -> assertThat(unreferenced).containsExactly(
+                        "[\"Tôi sống ở TP. Hồ Chí Minh.\",\"Bạn sống ở đâu?\"]", 2, 2L));
+    }
+}
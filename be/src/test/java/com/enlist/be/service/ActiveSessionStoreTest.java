@@ -0,0 +1,180 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.ActiveSessionConfig;
+import com.enlist.be.dto.SessionListItem;
+import com.enlist.be.entity.ParagraphSession;
+import com.enlist.be.exception.ConflictException;
+import com.enlist.be.repository.ParagraphSessionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveSessionStoreTest {
+
+    private static final List<String> STORED_AT_6 = List.of("6", "revision", "5", "status", "IN_PROGRESS");
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ParagraphSessionRepository sessionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ClusterLease clusterLease;
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    private ActiveSessionStore store;
+    private ParagraphSession session;
+
+    @BeforeEach
+    void setUp() {
+        store = new ActiveSessionStore(redisTemplate, sessionRepository, transactionManager,
+                new ActiveSessionConfig(), clusterLease);
+        session = ParagraphSession.builder()
+                .id(7L)
+                .status(ParagraphSession.Status.IN_PROGRESS)
+                .stateRevision(5L)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void saveMovesTheSessionToTheNextRevision() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(STORED_AT_6);
+
+        store.save(session, 5);
+
+        assertThat(session.getStateRevision()).isEqualTo(6L);
+    }
+
+    @Test
+    void saveRejectsAStaleRevision() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> store.save(session, 4)).isInstanceOf(ConflictException.class);
+        assertThat(session.getStateRevision()).isEqualTo(5L);
+    }
+
+    @Test
+    void saveIsKeptWhenTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(STORED_AT_6);
+
+        store.save(session, 5);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void saveIsRevertedWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(STORED_AT_6, 1L);
+
+        store.save(session, 5);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void liveStateIsDroppedWhenARolledBackChangeWasBuiltUpon() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(STORED_AT_6, 0L);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        store.save(session, 5);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(setOperations).remove("session:active:dirty", "7");
+        verify(redisTemplate).delete("session:active:7");
+    }
+
+    @Test
+    void listedSessionsAreOverlaidInOneRoundTrip() {
+        List<SessionListItem> items = List.of(item(7L, "IN_PROGRESS"), item(8L, "COMPLETED"), item(9L, "IN_PROGRESS"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(liveState(), Map.of()));
+
+        store.overlayItems(items);
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate, never()).opsForHash();
+        assertThat(items.get(0).getTotalPoints()).isEqualTo(40);
+        assertThat(items.get(0).getCurrentSentenceIndex()).isEqualTo(3);
+        assertThat(items.get(2).getTotalPoints()).isZero();
+    }
+
+    @Test
+    void completedSessionsAreNotLookedUp() {
+        store.overlayItems(List.of(item(8L, "COMPLETED")));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void listIsServedFromTheDatabaseWhenRedisIsDown() {
+        SessionListItem item = item(7L, "IN_PROGRESS");
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        store.overlayItems(List.of(item));
+
+        assertThat(item.getTotalPoints()).isZero();
+    }
+
+    private static SessionListItem item(Long id, String status) {
+        return SessionListItem.builder().id(id).status(status).build();
+    }
+
+    private static Map<String, String> liveState() {
+        return Map.of(
+                "status", "IN_PROGRESS",
+                "currentSentenceIndex", "3",
+                "totalPoints", "40",
+                "totalCredits", "2",
+                "accuracySum", "270.0",
+                "scoredCount", "3",
+                "completedSentences", "Bw==",
+                "completedSentenceCount", "3",
+                "revision", "9");
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
@@ -0,0 +1,174 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.ParagraphSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ContentSyncServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ParagraphCatalog paragraphCatalog;
+    @Mock
+    private SessionViewCache sessionViewCache;
+
+    private ContentSyncService contentSyncService;
+
+    @BeforeEach
+    void setUp() {
+        contentSyncService = new ContentSyncService(
+                jdbcTemplate, transactionManager, paragraphCatalog, sessionViewCache);
+    }
+
+    @Test
+    void unchangedFilesAreSkipped() {
+        storedHashes(Map.of("source_path", "food/pho.md", "content_hash", "hash-1"));
+
+        int synced = contentSyncService.sync(List.of(source("food/pho.md", "hash-1", "Phở", "Phở ngon.")));
+
+        assertThat(synced).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(paragraphCatalog, never()).refreshSources(anyCollection());
+    }
+
+    @Test
+    void fileAnotherNodeSyncedIsStillRefreshedInTheCatalog() {
+        storedHashes(Map.of("source_path", "food/pho.md", "content_hash", "hash-2"));
+        when(paragraphCatalog.staleSources(anyList())).thenReturn(List.of("food/pho.md"));
+
+        int synced = contentSyncService.sync(List.of(source("food/pho.md", "hash-2", "Phở", "Phở rất ngon.")));
+
+        assertThat(synced).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(paragraphCatalog).refreshSources(List.of("food/pho.md"));
+    }
+
+    @Test
+    void changedFileIsUpsertedAndRefreshed() {
+        storedHashes(Map.of("source_path", "food/pho.md", "content_hash", "hash-1"));
+        when(paragraphCatalog.staleSources(anyList())).thenReturn(List.of("food/pho.md", "food/bun.md", "food/com.md"));
+
+        int synced = contentSyncService.sync(List.of(
+                source("food/pho.md", "hash-2", "Phở", "Phở rất ngon."),
+                source("food/bun.md", "hash-3", "Bún", "Bún chả."),
+                source("food/com.md", "hash-4", "Cơm", "Cơm tấm.")));
+
+        assertThat(synced).isEqualTo(3);
+        List<Object[]> upserts = batch("INSERT INTO paragraphs");
+        assertThat(upserts).extracting(row -> row[0]).containsExactly("food/pho.md", "food/bun.md", "food/com.md");
+        verify(paragraphCatalog).refreshSources(List.of("food/pho.md", "food/bun.md", "food/com.md"));
+    }
+
+    @Test
+    void changedFileEvictsTheViewsOfItsSessions() {
+        storedHashes(Map.of("source_path", "food/pho.md", "content_hash", "hash-1"));
+        when(jdbcTemplate.queryForList(contains("paragraph_sessions"), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(7L, 8L));
+
+        contentSyncService.sync(List.of(source("food/pho.md", "hash-2", "Phở", "Phở rất ngon.")));
+
+        verify(sessionViewCache).evict(List.of(7L, 8L));
+    }
+
+    @Test
+    void externalFilesAreNamespacedApartFromBundledOnes(@TempDir Path root) throws IOException {
+        Path file = Files.createDirectories(root.resolve("food")).resolve("pho.md");
+        Files.writeString(file, """
+                ---
+                title: Phở
+                topic: Food
+                difficulty: EASY
+                ---
+                Phở ngon.
+                """);
+
+        List<ParagraphSource> sources = contentSyncService.parseFiles(root, List.of(file));
+
+        assertThat(sources).extracting(ParagraphSource::sourcePath).containsExactly("ext:food/pho.md");
+    }
+
+    @Test
+    void legacyRowWithTheSameTitleIsAdopted() {
+        storedHashes();
+        legacyRows(Map.of("id", 5L, "title", "Phở", "content", "Phở ngày xưa."));
+
+        contentSyncService.sync(List.of(source("food/pho.md", "hash-1", "Phở", "Phở bây giờ.")));
+
+        assertThat(batch("SET source_path")).containsExactly(new Object[]{"food/pho.md", 5L});
+    }
+
+    @Test
+    void sharedTitleIsAdoptedOnlyByMatchingContent() {
+        storedHashes();
+        legacyRows(
+                Map.of("id", 5L, "title", "Chợ", "content", "Chợ nổi Cái Răng."),
+                Map.of("id", 6L, "title", "Chợ", "content", "Chợ Bến Thành.\n"));
+
+        contentSyncService.sync(List.of(
+                source("travel/ben-thanh.md", "hash-1", "Chợ", "Chợ Bến Thành."),
+                source("travel/dong-xuan.md", "hash-2", "Chợ", "Chợ Đồng Xuân.")));
+
+        assertThat(batch("SET source_path")).containsExactly(new Object[]{"travel/ben-thanh.md", 6L});
+    }
+
+    @Test
+    void twoFilesDoNotTakeOverOneRowByTitle() {
+        storedHashes();
+        legacyRows(Map.of("id", 5L, "title", "Chợ", "content", "Chợ nổi Cái Răng."));
+
+        contentSyncService.sync(List.of(
+                source("travel/ben-thanh.md", "hash-1", "Chợ", "Chợ Bến Thành."),
+                source("travel/dong-xuan.md", "hash-2", "Chợ", "Chợ Đồng Xuân.")));
+
+        verify(jdbcTemplate, never()).batchUpdate(contains("SET source_path"), anyList());
+    }
+
+    @SafeVarargs
+    private void storedHashes(Map<String, Object>... rows) {
+        when(jdbcTemplate.queryForList(contains("content_hash FROM paragraphs"))).thenReturn(List.of(rows));
+    }
+
+    @SafeVarargs
+    private void legacyRows(Map<String, Object>... rows) {
+        when(jdbcTemplate.queryForList(contains("source_path IS NULL"), any(Object[].class))).thenReturn(List.of(rows));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String sql) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains(sql), rows.capture());
+        return rows.getValue();
+    }
+
+    private static ParagraphSource source(String sourcePath, String hash, String title, String content) {
+        return new ParagraphSource(sourcePath, hash, title, "Food", "EASY", content, List.of(content));
+    }
+}
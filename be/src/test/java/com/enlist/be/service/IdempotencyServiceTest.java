@@ -0,0 +1,170 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.IdempotencyConfig;
+import com.enlist.be.exception.BadRequestException;
+import com.enlist.be.exception.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceTest {
+
+    record Reply(String text) {
+    }
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    /** Stands in for Redis. */
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final IdempotencyConfig config = new IdempotencyConfig();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(call -> redis.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null);
+        when(valueOperations.get(any())).thenAnswer(call -> redis.get(call.<String>getArgument(0)));
+        doAnswer(call -> redis.put(call.getArgument(0), call.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.delete(anyString())).thenAnswer(call -> redis.remove(call.<String>getArgument(0)) != null);
+
+        service = new IdempotencyService(redisTemplate, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void firstRequestRunsTheAction() {
+        IdempotencyService.Result<Reply> result = execute("key-1", "hello", () -> new Reply("first"));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.response()).isEqualTo(new Reply("first"));
+    }
+
+    @Test
+    void repeatedRequestReplaysTheStoredResponse() {
+        AtomicInteger runs = new AtomicInteger();
+        execute("key-1", "hello", () -> new Reply("run " + runs.incrementAndGet()));
+
+        IdempotencyService.Result<Reply> replay =
+                execute("key-1", "hello", () -> new Reply("run " + runs.incrementAndGet()));
+
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.response()).isEqualTo(new Reply("run 1"));
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        execute("key-1", "hello", () -> new Reply("first"));
+
+        assertThatThrownBy(() -> execute("key-1", "goodbye", () -> new Reply("second")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void blankKeyIsRejected() {
+        assertThatThrownBy(() -> execute(" ", "hello", () -> new Reply("first")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void failedRequestReleasesTheKey() {
+        assertThatThrownBy(() -> execute("key-1", "hello", () -> {
+            throw new IllegalStateException("AI unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyService.Result<Reply> retry = execute("key-1", "hello", () -> new Reply("retried"));
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response()).isEqualTo(new Reply("retried"));
+    }
+
+    @Test
+    void repeatWhileInFlightWaitsForTheOriginal() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Result<Reply>> original = CompletableFuture.supplyAsync(
+                () -> execute("key-1", "hello", () -> {
+                    started.countDown();
+                    await(release);
+                    return new Reply("original");
+                }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(release::countDown);
+        IdempotencyService.Result<Reply> repeat = execute("key-1", "hello", () -> new Reply("duplicate"));
+
+        assertThat(repeat.replayed()).isTrue();
+        assertThat(repeat.response()).isEqualTo(new Reply("original"));
+        assertThat(original.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+    }
+
+    @Test
+    void repeatWhileInFlightGivesUpAfterTheWaitTimeout() throws Exception {
+        config.setWaitTimeout(Duration.ofMillis(100));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> execute("key-1", "hello", () -> {
+            started.countDown();
+            await(release);
+            return new Reply("original");
+        }), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> execute("key-1", "hello", () -> new Reply("duplicate")))
+                    .isInstanceOf(ConflictException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private IdempotencyService.Result<Reply> execute(String key, String request,
+                                                     Supplier<Reply> action) {
+        return service.execute(1L, "submit:7", key, request, Reply.class, action);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.enlist.be.service;
+
+import com.enlist.be.config.OutboxConfig;
+import com.enlist.be.entity.OutboxEvent;
+import com.enlist.be.repository.ErrorAnalyticsRepository;
+import com.enlist.be.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private DailyGoalService dailyGoalService;
+    @Mock
+    private ReviewService reviewService;
+    @Mock
+    private ErrorAnalyticsRepository errorAnalyticsRepository;
+    @Mock
+    private CreditsService creditsService;
+    @Mock
+    private RandomSessionService randomSessionService;
+
+    private final OutboxConfig config = new OutboxConfig();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxEventRepository, jdbcTemplate, transactionManager, config,
+                dailyGoalService, reviewService, errorAnalyticsRepository, creditsService, randomSessionService);
+        dispatcher.init();
+    }
+
+    @Test
+    void claimedEventIsHandledAndMarkedDone() {
+        OutboxEvent event = dailyProgress(0);
+        claim(event);
+
+        dispatcher.dispatch();
+
+        verify(dailyGoalService).incrementDailyProgress(42L);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.DONE);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getProcessedAt()).isNotNull();
+    }
+
+    @Test
+    void claimedBatchIsHandledInOneTransaction() {
+        OutboxEvent first = dailyProgress(1L, 0);
+        OutboxEvent second = dailyProgress(2L, 0);
+        claim(first, second);
+
+        dispatcher.dispatch();
+
+        verify(dailyGoalService, times(2)).incrementDailyProgress(42L);
+        // One for the claim, one for the batch
+        verify(transactionManager, times(2)).getTransaction(any());
+        assertThat(first.getStatus()).isEqualTo(OutboxEvent.Status.DONE);
+        assertThat(second.getStatus()).isEqualTo(OutboxEvent.Status.DONE);
+    }
+
+    @Test
+    void failingEventIsIsolatedFromTheRestOfItsBatch() {
+        OutboxEvent first = dailyProgress(1L, 0);
+        OutboxEvent failing = OutboxEvent.builder()
+                .id(2L)
+                .type(OutboxEvent.Type.REVIEW_QUEUE)
+                .payload(Map.of("userId", 42L, "submissionId", 9L))
+                .attempts(0)
+                .build();
+        claim(first, failing);
+        when(outboxEventRepository.findById(2L)).thenReturn(Optional.of(failing));
+        doThrow(new IllegalStateException("review queue down")).when(reviewService).addToReviewQueue(42L, 9L);
+
+        dispatcher.dispatch();
+
+        assertThat(first.getStatus()).isEqualTo(OutboxEvent.Status.DONE);
+        assertThat(failing.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(failing.getAttempts()).isEqualTo(1);
+        assertThat(failing.getLastError()).isEqualTo("review queue down");
+    }
+
+    @Test
+    void nextParagraphIsDraftedBeforeTheHandlingTransactionOpens() {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(3L)
+                .type(OutboxEvent.Type.RANDOM_SESSION_NEXT_PARAGRAPH)
+                .payload(Map.of("randomSessionId", 5L, "afterOrderIndex", 2))
+                .attempts(0)
+                .build();
+        claim(event);
+        when(outboxEventRepository.findAllById(List.of(3L))).thenReturn(List.of(event));
+        when(randomSessionService.draftNextParagraph(5L)).thenReturn("Hôm nay trời đẹp.");
+
+        dispatcher.dispatch();
+
+        InOrder order = inOrder(randomSessionService, transactionManager);
+        order.verify(randomSessionService).draftNextParagraph(5L);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(randomSessionService).addNextParagraph(5L, 2, "Hôm nay trời đẹp.");
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.DONE);
+    }
+
+    @Test
+    void redeliveredEventThatIsAlreadyDoneIsNotHandledAgain() {
+        OutboxEvent event = dailyProgress(1);
+        event.setStatus(OutboxEvent.Status.DONE);
+        claim(event);
+
+        dispatcher.dispatch();
+
+        verify(dailyGoalService, never()).incrementDailyProgress(anyLong());
+        assertThat(event.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void failedEventIsRetriedWithExponentialBackoff() {
+        OutboxEvent event = claimFailing(dailyProgress(2));
+        doThrow(new IllegalStateException("goal service down")).when(dailyGoalService).incrementDailyProgress(42L);
+
+        dispatcher.dispatch();
+
+        // Third attempt: initial backoff (5s) doubled twice
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getLastError()).isEqualTo("goal service down");
+        assertThat(event.getNextAttemptAt())
+                .isCloseTo(LocalDateTime.now().plusSeconds(20), within(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void backoffIsCappedAtTheMaximum() {
+        config.setMaxAttempts(30);
+        OutboxEvent event = claimFailing(dailyProgress(15));
+        doThrow(new IllegalStateException("down")).when(dailyGoalService).incrementDailyProgress(42L);
+
+        dispatcher.dispatch();
+
+        assertThat(event.getNextAttemptAt())
+                .isCloseTo(LocalDateTime.now().plus(config.getMaxBackoff()), within(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void eventIsParkedAfterTheLastAttempt() {
+        OutboxEvent event = claimFailing(dailyProgress(config.getMaxAttempts() - 1));
+        doThrow(new IllegalStateException("down")).when(dailyGoalService).incrementDailyProgress(42L);
+
+        dispatcher.dispatch();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.Status.FAILED);
+        assertThat(event.getAttempts()).isEqualTo(config.getMaxAttempts());
+    }
+
+    /** Claims the events; the row lock hands back those still pending, as the database would. */
+    private void claim(OutboxEvent... events) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(Arrays.stream(events).map(OutboxEvent::getId).toList());
+        when(outboxEventRepository.lockByIdInAndStatus(anyCollection(), eq(OutboxEvent.Status.PENDING)))
+                .thenAnswer(call -> {
+                    Collection<Long> ids = call.getArgument(0);
+                    return Arrays.stream(events)
+                            .filter(event -> ids.contains(event.getId()))
+                            .filter(event -> event.getStatus() == OutboxEvent.Status.PENDING)
+                            .toList();
+                });
+    }
+
+    /** A failing event is re-read to record the failure. */
+    private OutboxEvent claimFailing(OutboxEvent event) {
+        claim(event);
+        when(outboxEventRepository.findById(event.getId())).thenReturn(Optional.of(event));
+        return event;
+    }
+
+    private static OutboxEvent dailyProgress(int attempts) {
+        return dailyProgress(1L, attempts);
+    }
+
+    private static OutboxEvent dailyProgress(Long id, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .type(OutboxEvent.Type.DAILY_PROGRESS)
+                .sessionId(7L)
+                .payload(Map.of("userId", 42L))
+                .attempts(attempts)
+                .build();
+    }
+}
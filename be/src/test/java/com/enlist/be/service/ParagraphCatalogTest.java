@@ -0,0 +1,132 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.CatalogParagraph;
+import com.enlist.be.dto.ParagraphSource;
+import com.enlist.be.entity.Paragraph;
+import com.enlist.be.exception.BadRequestException;
+import com.enlist.be.repository.ParagraphRepository;
+import com.enlist.be.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParagraphCatalogTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 12, 9, 0);
+
+    @Mock
+    private ParagraphRepository paragraphRepository;
+
+    private ParagraphCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ParagraphCatalog(paragraphRepository);
+        when(paragraphRepository.findAll()).thenReturn(List.of(
+                paragraph(1L, "Chợ nổi", "Travel", MONDAY.plusDays(2)),
+                paragraph(2L, "Áo dài", "Culture", MONDAY),
+                paragraph(3L, "Phở", "Food", MONDAY.plusDays(1)),
+                paragraph(4L, "Generated", Paragraph.AI_GENERATED_TOPIC, MONDAY)));
+        catalog.reload();
+    }
+
+    @Test
+    void aiGeneratedParagraphsAreLeftOut() {
+        assertThat(ids(catalog.list(null, null, Sort.by("id")))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void pagesContinueFromATimestampCursor() {
+        Sort.Order order = Sort.Order.desc("createdAt");
+        List<CatalogParagraph> first = catalog.listAfter(null, null, order, null, 1);
+        KeysetCursor cursor = KeysetCursor.decode(
+                ParagraphCatalog.cursorOf(first.getFirst(), order).encode(), "createdAt:desc");
+
+        assertThat(ids(first)).containsExactly(1L);
+        assertThat(ids(catalog.listAfter(null, null, order, cursor, 10))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void idCursorCarriesTheId() {
+        Sort.Order order = Sort.Order.asc("id");
+        KeysetCursor cursor = ParagraphCatalog.cursorOf(catalog.find(2L).orElseThrow(), order);
+
+        assertThat(cursor.value()).isEqualTo("2");
+        assertThat(ids(catalog.listAfter(null, null, order, cursor, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void malformedCursorValueIsRejected() {
+        KeysetCursor cursor = new KeysetCursor("sentenceCount:asc", "many", 2L);
+
+        assertThatThrownBy(() -> catalog.listAfter(null, null, Sort.Order.asc("sentenceCount"), cursor, 10))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unknownSortFieldIsRejected() {
+        assertThatThrownBy(() -> catalog.list(null, null, Sort.by("sentences")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void refreshReplacesChangedAndDropsDeletedParagraphs() {
+        when(paragraphRepository.findAllById(List.of(1L, 3L)))
+                .thenReturn(List.of(paragraph(3L, "Bún chả", "Food", MONDAY.plusDays(1))));
+
+        catalog.refresh(List.of(1L, 3L));
+
+        assertThat(ids(catalog.list(null, null, Sort.by("id")))).containsExactly(2L, 3L);
+        assertThat(catalog.find(3L).orElseThrow().title()).isEqualTo("Bún chả");
+        assertThat(catalog.getTopics()).containsExactly("Culture", "Food");
+    }
+
+    @Test
+    void sourcesAreStaleWhenMissingOrBuiltFromOtherContent() {
+        List<ParagraphSource> sources = List.of(
+                source("1.md", "hash-1"), source("3.md", "hash-9"), source("5.md", "hash-5"));
+
+        assertThat(catalog.staleSources(sources)).containsExactly("3.md", "5.md");
+    }
+
+    @Test
+    void nothingIsStaleBeforeTheFirstLoad() {
+        ParagraphCatalog unloaded = new ParagraphCatalog(paragraphRepository);
+
+        assertThat(unloaded.staleSources(List.of(source("1.md", "hash-1")))).isEmpty();
+    }
+
+    private static ParagraphSource source(String sourcePath, String hash) {
+        return new ParagraphSource(sourcePath, hash, "Title", "Food", "beginner", "Content.", List.of("Content."));
+    }
+
+    private static Paragraph paragraph(Long id, String title, String topic, LocalDateTime createdAt) {
+        Paragraph paragraph = Paragraph.builder()
+                .id(id)
+                .title(title)
+                .topic(topic)
+                .difficulty("beginner")
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .sourcePath(id + ".md")
+                .contentHash("hash-" + id)
+                .build();
+        paragraph.setContent(title + ".");
+        return paragraph;
+    }
+
+    private static List<Long> ids(List<CatalogParagraph> paragraphs) {
+        return paragraphs.stream().map(CatalogParagraph::id).toList();
+    }
+}
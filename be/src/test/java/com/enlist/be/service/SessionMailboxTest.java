@@ -0,0 +1,119 @@
+package com.enlist.be.service;
+
+import com.enlist.be.exception.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionMailboxTest {
+
+    private final SessionMailbox mailbox = new SessionMailbox();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalOperationJoinsTheRunningOne() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<String> first = runAsync("submit 1", () -> {
+            runs.incrementAndGet();
+            return "scored";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<String> joined = new AtomicReference<>();
+        Thread second = Thread.ofPlatform().start(() -> joined.set(mailbox.run(7L, "submit 1", () -> {
+            runs.incrementAndGet();
+            return "duplicate";
+        })));
+        awaitBlocked(second);
+        release.countDown();
+        second.join(5000);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("scored");
+        assertThat(joined).hasValue("scored");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void differentOperationIsRejectedWhileOneIsRunning() throws Exception {
+        runAsync("submit 1", () -> "scored");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> mailbox.run(7L, "submit 2", () -> "other"))
+                .isInstanceOf(ConflictException.class);
+        assertThat(mailbox.run(8L, "submit 2", () -> "other session")).isEqualTo("other session");
+    }
+
+    @Test
+    void failureReachesTheJoinedCaller() throws Exception {
+        CompletableFuture<String> first = runAsync("submit 1", () -> {
+            throw new IllegalStateException("AI unavailable");
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Throwable> joinedFailure = new AtomicReference<>();
+        Thread second = Thread.ofPlatform().start(() -> {
+            try {
+                mailbox.run(7L, "submit 1", () -> "duplicate");
+            } catch (RuntimeException e) {
+                joinedFailure.set(e);
+            }
+        });
+        awaitBlocked(second);
+        release.countDown();
+        second.join(5000);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(joinedFailure.get()).isInstanceOf(IllegalStateException.class).hasMessage("AI unavailable");
+    }
+
+    @Test
+    void sessionIsFreeAgainOnceTheOperationEnds() {
+        assertThat(mailbox.run(7L, "submit 1", () -> "first")).isEqualTo("first");
+        assertThatThrownBy(() -> mailbox.run(7L, "submit 1", () -> {
+            throw new IllegalStateException("AI unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(mailbox.run(7L, "submit 1", () -> "again")).isEqualTo("again");
+    }
+
+    /** Runs an operation on session 7 that holds the mailbox until {@link #release} opens. */
+    private CompletableFuture<String> runAsync(Object operation, Supplier<String> work) {
+        return CompletableFuture.supplyAsync(() -> mailbox.run(7L, operation, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return work.get();
+        }), executor);
+    }
+
+    /** Waits until the thread is parked on the running operation's result. */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+}
@@ -0,0 +1,103 @@
+package com.enlist.be.service;
+
+import com.enlist.be.dto.CursorPageResponse;
+import com.enlist.be.dto.SessionListItem;
+import com.enlist.be.repository.ParagraphRepository;
+import com.enlist.be.repository.ParagraphSessionRepository;
+import com.enlist.be.repository.SentenceSubmissionRepository;
+import com.enlist.be.repository.SessionSummaryRepository;
+import com.enlist.be.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionServiceTest {
+
+    @Mock
+    private ParagraphRepository paragraphRepository;
+    @Mock
+    private ParagraphSessionRepository sessionRepository;
+    @Mock
+    private SentenceSubmissionRepository submissionRepository;
+    @Mock
+    private SessionSummaryRepository sessionSummaryRepository;
+    @Mock
+    private AIService aiService;
+    @Mock
+    private ParagraphCacheService paragraphCacheService;
+    @Mock
+    private FeedbackBlobService feedbackBlobService;
+    @Mock
+    private SessionViewCache sessionViewCache;
+    @Mock
+    private ActiveSessionStore activeSessionStore;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private SessionMailbox sessionMailbox;
+    @Mock
+    private IdempotencyService idempotencyService;
+    @Mock
+    private PhaseTracer phaseTracer;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SessionService sessionService;
+
+    @Test
+    void sessionPageIsReadFromTheListProjectionWithoutLoadingEntities() {
+        List<SessionListItem> rows = items(30, 10);
+        when(sessionRepository.findListItemsByUserId(eq(1L), eq(Long.MAX_VALUE), any(PageRequest.class)))
+                .thenReturn(rows);
+
+        CursorPageResponse<SessionListItem> page = sessionService.getUserSessionsPage(1L, null, 20, false);
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.isHasMore()).isTrue();
+        verify(sessionRepository).findListItemsByUserId(eq(1L), eq(Long.MAX_VALUE), any(PageRequest.class));
+        verify(activeSessionStore).overlayItems(rows.subList(0, 20));
+        verifyNoMoreInteractions(sessionRepository, activeSessionStore);
+        verifyNoInteractions(submissionRepository, feedbackBlobService);
+    }
+
+    @Test
+    void nextPageStartsAfterTheCursor() {
+        when(sessionRepository.findListItemsByUserId(eq(1L), anyLong(), any(PageRequest.class)))
+                .thenReturn(items(10, 1));
+        String cursor = KeysetCursor.of("id:desc", null, 11L).encode();
+
+        CursorPageResponse<SessionListItem> page = sessionService.getUserSessionsPage(1L, cursor, 20, true);
+
+        assertThat(page.isHasMore()).isFalse();
+        verify(sessionRepository).findListItemsByUserId(eq(1L), eq(11L), any(PageRequest.class));
+        verify(sessionRepository).countByUserId(1L);
+        verify(activeSessionStore).overlayItems(any());
+        verifyNoMoreInteractions(sessionRepository, activeSessionStore);
+    }
+
+    /** Rows with descending ids from {@code from} down to {@code to}. */
+    private static List<SessionListItem> items(long from, long to) {
+        return LongStream.rangeClosed(to, from)
+                .map(id -> from + to - id)
+                .mapToObj(id -> SessionListItem.builder().id(id).status("IN_PROGRESS").build())
+                .toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.enlist.be.util;
+
+import com.enlist.be.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void cursorSurvivesTheRoundTrip() {
+        LocalDateTime completedAt = LocalDateTime.of(2026, 10, 18, 14, 30, 5);
+        KeysetCursor cursor = KeysetCursor.of("completedAt:desc", completedAt, 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode(), "completedAt:desc");
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.timestamp()).isEqualTo(completedAt);
+    }
+
+    @Test
+    void cursorWithoutValueSurvivesTheRoundTrip() {
+        KeysetCursor cursor = KeysetCursor.of("id:desc", null, 7L);
+
+        assertThat(KeysetCursor.decode(cursor.encode(), "id:desc")).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = KeysetCursor.of("title:asc", "Chợ nổi & phố cổ?", 3L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void missingCursorMeansTheFirstPage() {
+        assertThat(KeysetCursor.decode(null, "id:desc")).isNull();
+        assertThat(KeysetCursor.decode(" ", "id:desc")).isNull();
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        String encoded = KeysetCursor.of("title:asc", "Phở", 3L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, "title:desc"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("different sort order");
+    }
+
+    @Test
+    void garbledCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", "id:desc"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("WyJpZDpkZXNjIl0", "id:desc"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void timestampOfANonTimestampCursorIsRejected() {
+        KeysetCursor cursor = KeysetCursor.of("title:asc", "Phở", 3L);
+
+        assertThatThrownBy(cursor::timestamp).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(KeysetCursor.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursor.pageSize(50)).isEqualTo(50);
+        assertThat(KeysetCursor.pageSize(1000)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+    }
+}
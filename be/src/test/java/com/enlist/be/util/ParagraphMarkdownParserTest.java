@@ -0,0 +1,81 @@
+package com.enlist.be.util;
+
+import com.enlist.be.dto.ParagraphSource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParagraphMarkdownParserTest {
+
+    private static final String FILE = """
+            ---
+            title: Mua quần áo mới
+            topic: shopping
+            difficulty: EASY
+            ---
+
+            Cuối tuần tôi đi mua quần áo. Tôi đến cửa hàng gần nhà.
+            """;
+
+    @Test
+    void frontmatterAndTextAreParsed() {
+        ParagraphSource source = parse("shopping/clothes.md", FILE);
+
+        assertThat(source.sourcePath()).isEqualTo("shopping/clothes.md");
+        assertThat(source.title()).isEqualTo("Mua quần áo mới");
+        assertThat(source.topic()).isEqualTo("shopping");
+        assertThat(source.difficulty()).isEqualTo("EASY");
+        assertThat(source.content()).isEqualTo("Cuối tuần tôi đi mua quần áo. Tôi đến cửa hàng gần nhà.");
+        assertThat(source.sentences())
+                .containsExactly("Cuối tuần tôi đi mua quần áo.", "Tôi đến cửa hàng gần nhà.");
+    }
+
+    @Test
+    void hashFollowsTheFileBytes() {
+        String first = parse("a.md", FILE).contentHash();
+
+        assertThat(first).hasSize(64).isEqualTo(parse("b.md", FILE).contentHash());
+        assertThat(parse("a.md", FILE.replace("EASY", "MEDIUM")).contentHash()).isNotEqualTo(first);
+    }
+
+    @Test
+    void topicIsOptional() {
+        assertThat(parse("a.md", FILE.replace("topic: shopping\n", "")).topic()).isNull();
+    }
+
+    @Test
+    void fileWithoutFrontmatterIsRejected() {
+        assertThatThrownBy(() -> parse("plain.md", "Chỉ có văn bản."))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("plain.md");
+    }
+
+    @Test
+    void missingRequiredFieldIsRejected() {
+        assertThatThrownBy(() -> parse("untitled.md", FILE.replace("title: Mua quần áo mới\n", "")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("untitled.md");
+    }
+
+    @Test
+    void malformedYamlIsRejectedWithThePath() {
+        assertThatThrownBy(() -> parse("broken.md", FILE.replace("topic: shopping", "topic: [shopping")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("broken.md");
+    }
+
+    @Test
+    void nonTextFieldIsRejectedWithThePath() {
+        assertThatThrownBy(() -> parse("numbered.md", FILE.replace("title: Mua quần áo mới", "title: 2024")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("numbered.md")
+                .hasMessageContaining("title");
+    }
+
+    private static ParagraphSource parse(String sourcePath, String file) {
+        return ParagraphMarkdownParser.parse(sourcePath, file.getBytes(StandardCharsets.UTF_8));
+    }
+}
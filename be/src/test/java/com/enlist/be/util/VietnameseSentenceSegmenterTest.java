@@ -0,0 +1,62 @@
+package com.enlist.be.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VietnameseSentenceSegmenterTest {
+
+    @Test
+    void splitsOnTerminatorsFollowedByWhitespace() {
+        assertThat(VietnameseSentenceSegmenter.segment("Trời đẹp. Bạn có đi chơi không? Đi thôi!"))
+                .containsExactly("Trời đẹp.", "Bạn có đi chơi không?", "Đi thôi!");
+    }
+
+    @Test
+    void keepsTitleAbbreviationsInsideTheSentence() {
+        assertThat(VietnameseSentenceSegmenter.segment("Tôi sống ở TP. Hồ Chí Minh. Bạn sống ở đâu?"))
+                .containsExactly("Tôi sống ở TP. Hồ Chí Minh.", "Bạn sống ở đâu?");
+        assertThat(VietnameseSentenceSegmenter.segment("ThS. Nguyễn Văn A dạy ở đây. Dr. Smith cũng vậy!"))
+                .containsExactly("ThS. Nguyễn Văn A dạy ở đây.", "Dr. Smith cũng vậy!");
+    }
+
+    @Test
+    void continuesAfterAnEllipsisFollowedByLowercase() {
+        assertThat(VietnameseSentenceSegmenter.segment("Anh ấy im lặng... rồi bỏ đi. Trời tối dần."))
+                .containsExactly("Anh ấy im lặng... rồi bỏ đi.", "Trời tối dần.");
+    }
+
+    @Test
+    void endsAtAnEllipsisFollowedByUppercase() {
+        assertThat(VietnameseSentenceSegmenter.segment("Chờ đã… Ai đó?"))
+                .containsExactly("Chờ đã…", "Ai đó?");
+    }
+
+    @Test
+    void keepsClosingQuotesAndBracketsOnTheSentence() {
+        assertThat(VietnameseSentenceSegmenter.segment("Cô ấy nói: \"Tôi đi đây.\" Rồi cô ấy đi."))
+                .containsExactly("Cô ấy nói: \"Tôi đi đây.\"", "Rồi cô ấy đi.");
+        assertThat(VietnameseSentenceSegmenter.segment("(Đây là ví dụ.) Câu tiếp theo."))
+                .containsExactly("(Đây là ví dụ.)", "Câu tiếp theo.");
+    }
+
+    @Test
+    void keepsTrailingTextWithoutTerminator() {
+        assertThat(VietnameseSentenceSegmenter.segment("Xin chào")).containsExactly("Xin chào");
+    }
+
+    @Test
+    void returnsNothingForBlankText() {
+        assertThat(VietnameseSentenceSegmenter.segment("   ")).isEmpty();
+        assertThat(VietnameseSentenceSegmenter.segment(null)).isEmpty();
+    }
+
+    @Test
+    void legacySplitKeepsTheBoundariesOlderSessionsWereBuiltOn() {
+        String text = "Tôi sống ở TP. Hồ Chí Minh. Bạn sống ở đâu?";
+
+        assertThat(VietnameseSentenceSegmenter.legacySplit(text))
+                .containsExactly("Tôi sống ở TP.", "Hồ Chí Minh.", "Bạn sống ở đâu?");
+        assertThat(VietnameseSentenceSegmenter.segment(text)).hasSize(2);
+    }
+}
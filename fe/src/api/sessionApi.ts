@@ -121,6 +121,7 @@ export interface RandomSession {
   startedAt: string;
   endedAt?: string;
   currentParagraph?: RandomSessionParagraphDTO;
+  // Create and next-paragraph return only the new paragraph here; the history comes from getRandomSession
   paragraphs: RandomSessionParagraphDTO[];
 }
 